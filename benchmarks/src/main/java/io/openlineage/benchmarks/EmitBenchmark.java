@@ -0,0 +1,95 @@
+package io.openlineage.benchmarks;
+
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.transports.EventTemplate;
+import io.openlineage.client.transports.InsecureHttpConfig;
+import io.openlineage.client.transports.InsecureHttpTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures emit() end to end: serialization, the HTTP round trip to an in-process collector and
+ * everything in between. Throughput gives ops/sec, SampleTime gives latency percentiles, and running
+ * with {@code -prof gc} adds bytes allocated per event ({@code gc.alloc.rate.norm}).
+ * <pre>
+ * java -jar target/benchmarks.jar EmitBenchmark -prof gc
+ * </pre>
+ * Events are built once per trial so only the transport's own work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmitBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "FACET_HEAVY"})
+    public Payloads payload;
+
+    private StubCollector collector;
+    private InsecureHttpTransport transport;
+    private OpenLineage.RunEvent runEvent;
+    private OpenLineage.DatasetEvent datasetEvent;
+    private OpenLineage.JobEvent jobEvent;
+    private EventTemplate runEventTemplate;
+    private UUID runId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        collector = new StubCollector();
+        InsecureHttpConfig config = new InsecureHttpConfig();
+        config.setUrl(collector.getUri());
+        transport = new InsecureHttpTransport(config);
+        runEvent = payload.runEvent();
+        datasetEvent = payload.datasetEvent();
+        jobEvent = payload.jobEvent();
+        runEventTemplate = transport.compileTemplate(runEvent);
+        runId = runEvent.getRun().getRunId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transport.close();
+        collector.close();
+    }
+
+    @Benchmark
+    public void emitRunEvent() {
+        transport.emit(runEvent);
+    }
+
+    @Benchmark
+    public void emitDatasetEvent() {
+        transport.emit(datasetEvent);
+    }
+
+    @Benchmark
+    public void emitJobEvent() {
+        transport.emit(jobEvent);
+    }
+
+    /**
+     * The same run event as {@link #emitRunEvent()}, spliced from a pre-serialized template.
+     */
+    @Benchmark
+    public void emitRunEventTemplate() {
+        transport.emit(runEventTemplate, runId, OpenLineage.RunEvent.EventType.COMPLETE, ZonedDateTime.now());
+    }
+}
@@ -0,0 +1,342 @@
+package io.openlineage.benchmarks;
+
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.transports.InsecureHttpConfig;
+import io.openlineage.client.transports.InsecureHttpTransport;
+import io.openlineage.client.transports.InsecureHttpTransportMXBean;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load and soak test: N threads emit Spark-style run lifecycles (START, RUNNING..., COMPLETE)
+ * through the transport at a target rate, against an in-process collector with injectable latency and
+ * error rate, or against a real collector given with {@code --url}. Every report interval it prints
+ * throughput, emit latency percentiles, failed and dropped events, queue depth, heap and GC activity,
+ * and a summary at the end.
+ * <pre>
+ * java -cp target/benchmarks.jar io.openlineage.benchmarks.LoadGenerator --threads 8 --rate 2000 \
+ *     --duration PT1H --latency PT0.02S --error-rate 0.01 --https true
+ * </pre>
+ * Emit latency is measured from when an event was due rather than when it was emitted, so a stalled
+ * emit also counts against the events that queued up behind it instead of hiding them.
+ */
+public final class LoadGenerator {
+
+    private final Map<String, String> options;
+    private final AtomicLong emitted = new AtomicLong();
+    private final Histogram emitLatency = new Histogram();
+    private volatile boolean running = true;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                System.err.println("Unexpected argument " + args[i] + "; options are --name value pairs");
+                System.exit(2);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        new LoadGenerator(options).run();
+    }
+
+    private void run() throws Exception {
+        int threads = intOption("threads", 4);
+        double rate = Double.parseDouble(option("rate", "1000"));
+        Duration duration = Duration.parse(option("duration", "PT1M"));
+        Duration reportInterval = Duration.parse(option("report-interval", "PT10S"));
+        SparkEvents events = new SparkEvents(intOption("datasets", 4), intOption("columns", 50),
+            intOption("text-length", 500));
+        int runningEvents = intOption("running-events", 2);
+
+        StubCollector collector = null;
+        URI url;
+        if (options.containsKey("url")) {
+            url = URI.create(options.get("url"));
+        } else {
+            collector = new StubCollector(Duration.parse(option("latency", "PT0.02S")),
+                Double.parseDouble(option("error-rate", "0")), Boolean.parseBoolean(option("https", "false")));
+            url = collector.getUri();
+        }
+        InsecureHttpTransport transport = new InsecureHttpTransport(config(url));
+        InsecureHttpTransportMXBean metrics = transport.getMetrics();
+
+        System.out.printf("Load test against %s: %d threads, %s events/s, %s%n", url, threads,
+            rate > 0 ? String.format("%.0f", rate) : "unlimited", duration);
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            // Each thread keeps its own schedule; together they add up to the target rate
+            long periodNanos = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+            Thread worker = new Thread(() -> emitRuns(transport, events, runningEvents, start, periodNanos),
+                "load-generator-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        Report total = new Report();
+        Report interval = new Report();
+        long end = start + duration.toNanos();
+        while (System.nanoTime() < end) {
+            long sleep = Math.min(reportInterval.toNanos(), end - System.nanoTime());
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, sleep));
+            interval.sample(metrics);
+            total.add(interval, emitLatency.drain());
+            System.out.println(interval.line(System.nanoTime() - start, metrics));
+            interval = interval.next();
+        }
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        transport.close();
+        interval.sample(metrics);
+        total.add(interval, emitLatency.drain());
+
+        System.out.println();
+        System.out.printf("Emitted %d events in %.1f s: %.0f events/s%n", total.events, elapsed / 1e9,
+            total.events / (elapsed / 1e9));
+        System.out.printf("Emit latency: p50 %s  p99 %s  p99.9 %s  max %s%n", micros(total.percentile(0.5)),
+            micros(total.percentile(0.99)), micros(total.percentile(0.999)), micros(total.maxMicros()));
+        System.out.printf("Request latency: p50 %s  p99 %s  p99.9 %s  max %s%n",
+            micros(metrics.getRequestLatencyP50Micros()), micros(metrics.getRequestLatencyP99Micros()),
+            micros(metrics.getRequestLatencyP999Micros()), micros(metrics.getRequestLatencyMaxMicros()));
+        System.out.printf("Requests: %d succeeded, %d failed, %d retried; events failed %d, dropped %d, spooled %d%n",
+            metrics.getRequestsSucceeded(), metrics.getRequestsFailed(), metrics.getRequestsRetried(),
+            metrics.getEventsFailed(), metrics.getEventsDropped(), metrics.getEventsSpooled());
+        System.out.printf("Heap: peak %d MB used after a report, %d GCs taking %d ms%n",
+            total.peakHeapBytes / (1024 * 1024), total.gcCount, total.gcMillis);
+        if (collector != null) {
+            System.out.printf("Collector: %d requests, %d MB, %d injected errors%n", collector.getRequestCount(),
+                collector.getBytesReceived() / (1024 * 1024), collector.getErrorCount());
+            collector.close();
+        }
+    }
+
+    private InsecureHttpConfig config(URI url) {
+        InsecureHttpConfig config = new InsecureHttpConfig();
+        config.setUrl(url);
+        config.setAsync(Boolean.parseBoolean(option("async", "true")));
+        config.setSenderThreads(intOption("sender-threads", 4));
+        config.setMaxConnections(intOption("max-connections", 4));
+        config.setQueueCapacity(intOption("queue-capacity", 10000));
+        config.setOverflowPolicy(InsecureHttpConfig.OverflowPolicy.valueOf(option("overflow-policy", "BLOCK")));
+        config.setCompression(InsecureHttpConfig.Compression.valueOf(option("compression", "NONE")));
+        config.setMaxRetries(intOption("max-retries", 0));
+        int batchSize = intOption("batch-size", 0);
+        if (batchSize > 1) {
+            config.setBatch(true);
+            config.setBatchMaxEvents(batchSize);
+        }
+        config.setMetrics(true);
+        config.setMetricsJmx(false);
+        return config;
+    }
+
+    private void emitRuns(InsecureHttpTransport transport, SparkEvents events, int runningEvents, long start,
+                          long periodNanos) {
+        long due = start;
+        while (running) {
+            UUID runId = UUID.randomUUID();
+            for (int stage = 0; stage < runningEvents + 2 && running; stage++) {
+                OpenLineage.RunEvent.EventType type = stage == 0
+                    ? OpenLineage.RunEvent.EventType.START
+                    : stage <= runningEvents ? OpenLineage.RunEvent.EventType.RUNNING
+                    : OpenLineage.RunEvent.EventType.COMPLETE;
+                if (periodNanos > 0) {
+                    due += periodNanos;
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    due = System.nanoTime();
+                }
+                OpenLineage.RunEvent event = events.runEvent(runId, type);
+                try {
+                    transport.emit(event);
+                } catch (RuntimeException e) {
+                    // Counted by the transport's metrics; keep the load going
+                }
+                emitLatency.record(System.nanoTime() - due);
+                emitted.incrementAndGet();
+            }
+        }
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(option(name, Integer.toString(defaultValue)));
+    }
+
+    private static String micros(long micros) {
+        return micros >= 10_000 ? micros / 1000 + " ms" : micros + " us";
+    }
+
+    /**
+     * Counters of one report interval, or accumulated over the whole run.
+     */
+    private final class Report {
+        private long eventsAtStart = emitted.get();
+        private long failedAtStart;
+        private long droppedAtStart;
+        private long gcCountAtStart = gcCount();
+        private long gcMillisAtStart = gcMillis();
+
+        private long events;
+        private long failed;
+        private long dropped;
+        private long gcCount;
+        private long gcMillis;
+        private long heapBytes;
+        private long peakHeapBytes;
+        private final long[] latencies = new long[Histogram.BUCKETS];
+        private long maxMicros;
+
+        void sample(InsecureHttpTransportMXBean metrics) {
+            events = emitted.get() - eventsAtStart;
+            failed = metrics.getEventsFailed() - failedAtStart;
+            dropped = metrics.getEventsDropped() - droppedAtStart;
+            gcCount = gcCount() - gcCountAtStart;
+            gcMillis = gcMillis() - gcMillisAtStart;
+            heapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            peakHeapBytes = heapBytes;
+        }
+
+        void add(Report interval, long[] intervalLatencies) {
+            events += interval.events;
+            failed += interval.failed;
+            dropped += interval.dropped;
+            gcCount += interval.gcCount;
+            gcMillis += interval.gcMillis;
+            peakHeapBytes = Math.max(peakHeapBytes, interval.heapBytes);
+            for (int i = 0; i < Histogram.BUCKETS; i++) {
+                interval.latencies[i] = intervalLatencies[i];
+                latencies[i] += intervalLatencies[i];
+                if (intervalLatencies[i] > 0) {
+                    interval.maxMicros = Histogram.upperBoundOf(i);
+                }
+            }
+            maxMicros = Math.max(maxMicros, interval.maxMicros);
+        }
+
+        Report next() {
+            Report next = new Report();
+            next.failedAtStart = failedAtStart + failed;
+            next.droppedAtStart = droppedAtStart + dropped;
+            return next;
+        }
+
+        long percentile(double percentile) {
+            return Histogram.percentile(latencies, percentile);
+        }
+
+        long maxMicros() {
+            return maxMicros;
+        }
+
+        String line(long elapsedNanos, InsecureHttpTransportMXBean metrics) {
+            MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            return String.format("[%6.0fs] %8d events | emit p50 %8s p99 %8s p99.9 %8s max %8s | failed %d dropped %d"
+                    + " | queue %d in flight %d | heap %d/%d MB | gc %d (%d ms)",
+                elapsedNanos / 1e9, events, micros(percentile(0.5)), micros(percentile(0.99)), micros(percentile(0.999)),
+                micros(maxMicros), failed, dropped, metrics.getQueueDepth(), metrics.getInFlightRequests(),
+                heapBytes / (1024 * 1024), heap.getMax() / (1024 * 1024), gcCount, gcMillis);
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    /**
+     * Log-linear latency buckets in microseconds, 16 per power of two, drained once per report.
+     */
+    private static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos) {
+            counts.incrementAndGet(bucketOf(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos))));
+        }
+
+        long[] drain() {
+            long[] snapshot = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.getAndSet(i, 0);
+            }
+            return snapshot;
+        }
+
+        static long percentile(long[] counts, double percentile) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBoundOf(i);
+                }
+            }
+            return 0;
+        }
+
+        static int bucketOf(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+        }
+
+        static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+            long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+            long width = 1L << (exponent - SUB_BUCKET_BITS);
+            return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.openlineage.benchmarks;
+
+import io.openlineage.client.OpenLineage;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Representative events of increasing size. SMALL carries no facets, MEDIUM a few datasets with short
+ * schemas and a SQL facet, FACET_HEAVY wide schemas and long documentation, like a job over wide tables.
+ */
+public enum Payloads {
+    SMALL(0, 0, 0),
+    MEDIUM(2, 10, 200),
+    FACET_HEAVY(8, 200, 4000);
+
+    private static final OpenLineage OL = new OpenLineage(URI.create("https://github.com/OpenLineage/benchmarks"));
+
+    private final int datasets;
+    private final int columns;
+    private final int textLength;
+
+    Payloads(int datasets, int columns, int textLength) {
+        this.datasets = datasets;
+        this.columns = columns;
+        this.textLength = textLength;
+    }
+
+    public OpenLineage.RunEvent runEvent() {
+        return OL.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.COMPLETE)
+            .run(OL.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(job())
+            .inputs(inputs())
+            .outputs(outputs())
+            .build();
+    }
+
+    public OpenLineage.DatasetEvent datasetEvent() {
+        return OL.newDatasetEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .dataset(OL.newStaticDatasetBuilder()
+                .namespace("s3://benchmark-bucket")
+                .name("warehouse/static_table")
+                .facets(datasetFacets("static_table"))
+                .build())
+            .build();
+    }
+
+    public OpenLineage.JobEvent jobEvent() {
+        return OL.newJobEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .job(job())
+            .inputs(inputs())
+            .outputs(outputs())
+            .build();
+    }
+
+    private OpenLineage.Job job() {
+        OpenLineage.JobFacetsBuilder facets = OL.newJobFacetsBuilder();
+        if (textLength > 0) {
+            facets.sql(OL.newSQLJobFacet(text("SELECT * FROM source_table WHERE "), "spark"));
+            facets.documentation(OL.newDocumentationJobFacet(text("Benchmark job "), "text/plain"));
+        }
+        return OL.newJobBuilder()
+            .namespace("benchmark-namespace")
+            .name("benchmark-job")
+            .facets(facets.build())
+            .build();
+    }
+
+    private List<OpenLineage.InputDataset> inputs() {
+        List<OpenLineage.InputDataset> inputs = new ArrayList<>();
+        for (int i = 0; i < datasets; i++) {
+            inputs.add(OL.newInputDatasetBuilder()
+                .namespace("s3://benchmark-bucket")
+                .name("warehouse/input_" + i)
+                .facets(datasetFacets("input_" + i))
+                .build());
+        }
+        return inputs;
+    }
+
+    private List<OpenLineage.OutputDataset> outputs() {
+        if (datasets == 0) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(OL.newOutputDatasetBuilder()
+            .namespace("s3://benchmark-bucket")
+            .name("warehouse/output")
+            .facets(datasetFacets("output"))
+            .build());
+    }
+
+    private OpenLineage.DatasetFacets datasetFacets(String table) {
+        List<OpenLineage.SchemaDatasetFacetFields> fields = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            fields.add(OL.newSchemaDatasetFacetFieldsBuilder()
+                .name(table + "_column_" + i)
+                .type(i % 3 == 0 ? "string" : i % 3 == 1 ? "bigint" : "timestamp")
+                .description("Column " + i + " of " + table)
+                .build());
+        }
+        OpenLineage.DatasetFacetsBuilder facets = OL.newDatasetFacetsBuilder();
+        if (columns > 0) {
+            facets.schema(OL.newSchemaDatasetFacet(fields));
+        }
+        if (textLength > 0) {
+            facets.documentation(OL.newDocumentationDatasetFacet(text("Table " + table + " "), "text/plain"));
+        }
+        return facets.build();
+    }
+
+    private String text(String prefix) {
+        StringBuilder text = new StringBuilder(prefix);
+        while (text.length() < textLength) {
+            text.append("lorem ipsum dolor sit amet ");
+        }
+        return text.substring(0, Math.max(prefix.length(), textLength));
+    }
+}
@@ -0,0 +1,114 @@
+package io.openlineage.benchmarks;
+
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.transports.InsecureHttpConfig;
+import io.openlineage.client.transports.InsecureHttpTransport;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform and virtual async sender threads against a collector that holds every request for
+ * 20 ms, so throughput is bound by how many requests can be in flight at once. Each operation emits a
+ * burst of events and waits until they are delivered. The {@code senderPlatformThreads} and
+ * {@code processVirtualMemoryMb} counters show the footprint of each configuration.
+ * <pre>
+ * java -jar target/benchmarks.jar SenderThreadsBenchmark
+ * </pre>
+ * With {@code virtualThreads=true} on Java 20 or older the transport falls back to platform threads, so
+ * both rows measure the same thing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SenderThreadsBenchmark {
+
+    private static final int BURST = 2000;
+    private static final String SENDER_THREAD_PREFIX = "openlineage-http-insecure-sender";
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"16", "1000"})
+    public int senderThreads;
+
+    private StubCollector collector;
+    private InsecureHttpTransport transport;
+    private OpenLineage.RunEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        collector = new StubCollector(Duration.ofMillis(20));
+        InsecureHttpConfig config = new InsecureHttpConfig();
+        config.setUrl(collector.getUri());
+        config.setAsync(true);
+        config.setQueueCapacity(BURST);
+        config.setSenderThreads(senderThreads);
+        config.setVirtualThreads(virtualThreads);
+        config.setMaxConnections(senderThreads);
+        transport = new InsecureHttpTransport(config);
+        event = Payloads.SMALL.runEvent();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transport.close();
+        collector.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void emitBurst(Footprint footprint) {
+        for (int i = 0; i < BURST; i++) {
+            transport.emit(event);
+        }
+        transport.flush(Duration.ofMinutes(1));
+    }
+
+    /**
+     * Footprint sampled once per iteration; sender threads live for the whole trial, so a sample is exact.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        /** Live platform threads running the transport's senders; virtual threads are not counted. */
+        public long senderPlatformThreads;
+
+        /** Virtual memory committed to the JVM process, which includes every platform thread's stack. */
+        public long processVirtualMemoryMb;
+
+        @Setup(Level.Iteration)
+        public void sample() {
+            senderPlatformThreads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(SENDER_THREAD_PREFIX))
+                .count();
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            if (os instanceof com.sun.management.OperatingSystemMXBean) {
+                processVirtualMemoryMb =
+                    ((com.sun.management.OperatingSystemMXBean) os).getCommittedVirtualMemorySize() / (1024 * 1024);
+            }
+        }
+    }
+}
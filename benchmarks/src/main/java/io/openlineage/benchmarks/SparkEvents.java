@@ -0,0 +1,132 @@
+package io.openlineage.benchmarks;
+
+import io.openlineage.client.OpenLineage;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Synthesizes run events shaped like those of the OpenLineage Spark integration: a parent application
+ * run, a processing engine facet, SQL and job type facets, input datasets with schemas, and an output
+ * dataset with a schema and column lineage from the inputs. Sizes are configurable, so the same
+ * generator models anything from a narrow ETL step to a job over hundreds of wide tables.
+ */
+public final class SparkEvents {
+
+    private static final OpenLineage OL =
+        new OpenLineage(URI.create("https://github.com/OpenLineage/OpenLineage/tree/1.36.0/integration/spark"));
+    private static final String NAMESPACE = "s3://load-test-bucket";
+
+    private final int inputDatasets;
+    private final int columns;
+    private final int textLength;
+    private final UUID applicationRunId = UUID.randomUUID();
+
+    /**
+     * @param inputDatasets number of input datasets; there is always one output
+     * @param columns       schema fields per dataset, and column lineage entries on the output
+     * @param textLength    length of the SQL query and of each dataset's documentation
+     */
+    public SparkEvents(int inputDatasets, int columns, int textLength) {
+        this.inputDatasets = inputDatasets;
+        this.columns = columns;
+        this.textLength = textLength;
+    }
+
+    /**
+     * A run event of the given run and lifecycle stage. Like the Spark integration, only START and
+     * COMPLETE carry the full dataset facets; RUNNING events repeat the datasets without facets.
+     */
+    public OpenLineage.RunEvent runEvent(UUID runId, OpenLineage.RunEvent.EventType eventType) {
+        boolean withFacets = eventType != OpenLineage.RunEvent.EventType.RUNNING;
+        return OL.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(eventType)
+            .run(OL.newRunBuilder()
+                .runId(runId)
+                .facets(OL.newRunFacetsBuilder()
+                    .parent(OL.newParentRunFacet(OL.newParentRunFacetRun(applicationRunId),
+                        OL.newParentRunFacetJob("spark", "load_test_application"), null))
+                    .processing_engine(OL.newProcessingEngineRunFacet("3.5.1", "spark", "1.36.0"))
+                    .build())
+                .build())
+            .job(OL.newJobBuilder()
+                .namespace("spark")
+                .name("load_test_application.execute_insert_into_hadoop_fs_relation_command.warehouse_output")
+                .facets(OL.newJobFacetsBuilder()
+                    .jobType(OL.newJobTypeJobFacet("BATCH", "SPARK", "SQL_JOB"))
+                    .sql(OL.newSQLJobFacet(text("INSERT INTO warehouse.output SELECT * FROM warehouse.input_0 "),
+                        "spark"))
+                    .build())
+                .build())
+            .inputs(inputs(withFacets))
+            .outputs(Collections.singletonList(OL.newOutputDatasetBuilder()
+                .namespace(NAMESPACE)
+                .name("warehouse/output")
+                .facets(withFacets ? outputFacets() : null)
+                .build()))
+            .build();
+    }
+
+    private List<OpenLineage.InputDataset> inputs(boolean withFacets) {
+        List<OpenLineage.InputDataset> inputs = new ArrayList<>();
+        for (int i = 0; i < inputDatasets; i++) {
+            String table = "input_" + i;
+            inputs.add(OL.newInputDatasetBuilder()
+                .namespace(NAMESPACE)
+                .name("warehouse/" + table)
+                .facets(withFacets ? datasetFacets(table).build() : null)
+                .build());
+        }
+        return inputs;
+    }
+
+    private OpenLineage.DatasetFacets outputFacets() {
+        OpenLineage.DatasetFacetsBuilder facets = datasetFacets("output");
+        if (columns > 0 && inputDatasets > 0) {
+            OpenLineage.ColumnLineageDatasetFacetFieldsBuilder fields = OL.newColumnLineageDatasetFacetFieldsBuilder();
+            for (int i = 0; i < columns; i++) {
+                String source = "input_" + (i % inputDatasets);
+                fields.put(column("output", i), OL.newColumnLineageDatasetFacetFieldsAdditional(
+                    Collections.singletonList(OL.newInputField(NAMESPACE, "warehouse/" + source, column(source, i), null)),
+                    null, null));
+            }
+            facets.columnLineage(OL.newColumnLineageDatasetFacet(fields.build(), null));
+        }
+        return facets.build();
+    }
+
+    private OpenLineage.DatasetFacetsBuilder datasetFacets(String table) {
+        OpenLineage.DatasetFacetsBuilder facets = OL.newDatasetFacetsBuilder();
+        if (columns > 0) {
+            List<OpenLineage.SchemaDatasetFacetFields> fields = new ArrayList<>();
+            for (int i = 0; i < columns; i++) {
+                fields.add(OL.newSchemaDatasetFacetFieldsBuilder()
+                    .name(column(table, i))
+                    .type(i % 3 == 0 ? "string" : i % 3 == 1 ? "long" : "timestamp")
+                    .build());
+            }
+            facets.schema(OL.newSchemaDatasetFacet(fields));
+        }
+        if (textLength > 0) {
+            facets.documentation(OL.newDocumentationDatasetFacet(text("Table " + table + " "), "text/plain"));
+        }
+        return facets;
+    }
+
+    private static String column(String table, int index) {
+        return table + "_column_" + index;
+    }
+
+    private String text(String prefix) {
+        StringBuilder text = new StringBuilder(prefix);
+        while (text.length() < textLength) {
+            text.append("lorem ipsum dolor sit amet ");
+        }
+        return text.substring(0, Math.max(prefix.length(), textLength));
+    }
+}
@@ -0,0 +1,167 @@
+package io.openlineage.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process lineage endpoint that reads and discards request bodies and answers 200, so a benchmark
+ * measures the client side rather than a real collector. Latency and errors can be injected.
+ */
+public class StubCollector implements AutoCloseable {
+
+    private static final String KEY_STORE_PASSWORD = "stub-collector";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public StubCollector() throws IOException {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * @param responseDelay how long each request is held before the response, to model a remote collector;
+     *                      delayed requests are handled on a thread each so they overlap
+     */
+    public StubCollector(Duration responseDelay) throws IOException {
+        this(responseDelay, 0, false);
+    }
+
+    /**
+     * @param responseDelay how long each request is held before the response, to model a remote collector;
+     *                      delayed requests are handled on a thread each so they overlap
+     * @param errorRate     fraction of requests, chosen at random, answered with 503 instead of 200
+     * @param https         serve HTTPS with a throwaway self-signed certificate
+     */
+    public StubCollector(Duration responseDelay, double errorRate, boolean https) throws IOException {
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 0);
+        if (https) {
+            HttpsServer httpsServer = HttpsServer.create(address, 1024);
+            httpsServer.setHttpsConfigurator(new HttpsConfigurator(selfSignedContext()));
+            server = httpsServer;
+        } else {
+            server = HttpServer.create(address, 1024);
+        }
+        ThreadFactory threads = runnable -> {
+            Thread thread = new Thread(runnable, "stub-collector");
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = responseDelay.isZero()
+            ? Executors.newFixedThreadPool(8, threads)
+            : Executors.newCachedThreadPool(threads);
+        long delayMillis = responseDelay.toMillis();
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            try (InputStream body = exchange.getRequestBody()) {
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    total += read;
+                }
+            }
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            requests.incrementAndGet();
+            bytes.addAndGet(total);
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    public URI getUri() {
+        String scheme = server instanceof HttpsServer ? "https" : "http";
+        return URI.create(scheme + "://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/lineage");
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getBytesReceived() {
+        return bytes.get();
+    }
+
+    /**
+     * Requests answered with an injected 503, included in {@link #getRequestCount()}.
+     */
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Creates a key pair and self-signed certificate with the JDK's keytool; the transport accepts any
+     * certificate, so nothing needs to be trusted.
+     */
+    private static SSLContext selfSignedContext() throws IOException {
+        Path keyStore = Files.createTempFile("stub-collector", ".p12");
+        Files.delete(keyStore);
+        String keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "stub", "-keyalg", "RSA",
+            "-keysize", "2048", "-dname", "CN=127.0.0.1", "-validity", "2", "-storetype", "PKCS12",
+            "-keystore", keyStore.toString(), "-storepass", KEY_STORE_PASSWORD, "-keypass", KEY_STORE_PASSWORD)
+            .redirectErrorStream(true)
+            .start();
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("keytool failed with exit code " + process.exitValue());
+            }
+            KeyStore store = KeyStore.getInstance("PKCS12");
+            try (InputStream in = Files.newInputStream(keyStore)) {
+                store.load(in, KEY_STORE_PASSWORD.toCharArray());
+            }
+            KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagers.init(store, KEY_STORE_PASSWORD.toCharArray());
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers.getKeyManagers(), null, null);
+            return context;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while creating a certificate", e);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to load the generated certificate", e);
+        } finally {
+            Files.deleteIfExists(keyStore);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineageClientException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue drained by dedicated sender threads, used by the transport's async mode.
+ * Items are handed to the sink on a sender thread; failures are logged, never rethrown to the emitter.
+ * Items dropped on overflow or close are passed to the optional drop handler.
+ */
+@Slf4j
+class AsyncEventDispatcher<T> {
+
+    private final BlockingQueue<T> queue;
+    private final Consumer<T> sink;
+    private final Consumer<T> dropHandler;
+    private final InsecureHttpConfig.OverflowPolicy overflowPolicy;
+    private final List<Thread> senders;
+
+    // Items accepted but not yet handed off or dropped; flush() waits for this to reach zero
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition idle = idleLock.newCondition();
+
+    private volatile boolean closed;
+
+    AsyncEventDispatcher(int capacity, int threads, InsecureHttpConfig.OverflowPolicy overflowPolicy,
+                         String threadNamePrefix, Consumer<T> sink) {
+        this(capacity, threads, overflowPolicy, threadNamePrefix, sink, null);
+    }
+
+    AsyncEventDispatcher(int capacity, int threads, InsecureHttpConfig.OverflowPolicy overflowPolicy,
+                         String threadNamePrefix, Consumer<T> sink, Consumer<T> dropHandler) {
+        this(capacity, threads, overflowPolicy, threadNamePrefix, sink, dropHandler, false);
+    }
+
+    /**
+     * @param virtualThreads run the senders as virtual threads, if the JVM supports them (Java 21+)
+     */
+    AsyncEventDispatcher(int capacity, int threads, InsecureHttpConfig.OverflowPolicy overflowPolicy,
+                         String threadNamePrefix, Consumer<T> sink, Consumer<T> dropHandler, boolean virtualThreads) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.sink = sink;
+        this.dropHandler = dropHandler;
+        this.overflowPolicy = overflowPolicy;
+        this.senders = new ArrayList<>();
+        ThreadFactory virtualThreadFactory = virtualThreads ? virtualThreadFactory(threadNamePrefix + "-") : null;
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            Thread sender;
+            if (virtualThreadFactory != null) {
+                sender = virtualThreadFactory.newThread(this::drain);
+            } else {
+                sender = new Thread(this::drain, threadNamePrefix + "-" + i);
+                sender.setDaemon(true);
+            }
+            senders.add(sender);
+        }
+        senders.forEach(Thread::start);
+    }
+
+    /**
+     * Returns a factory of virtual threads named with the prefix and a counter, or null before Java 21.
+     * Looked up reflectively so the class still compiles and loads on Java 8.
+     */
+    static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Virtual threads require Java 21 or later, using platform sender threads");
+            return null;
+        }
+    }
+
+    void submit(T item) {
+        if (closed) {
+            throw new OpenLineageClientException("Transport is closed, event was not sent");
+        }
+        pending.incrementAndGet();
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(item);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    discard(item);
+                    throw new OpenLineageClientException("Interrupted while waiting for queue capacity", e);
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(item)) {
+                    T oldest = queue.poll();
+                    if (oldest != null) {
+                        discard(oldest);
+                    }
+                }
+                break;
+            case DROP_NEWEST:
+            default:
+                if (!queue.offer(item)) {
+                    discard(item);
+                }
+                break;
+        }
+        // close() may have drained the queue after the check above, or while this producer was blocked in
+        // put(); an item enqueued since would never be sent, so it is taken back and dropped
+        if (closed && queue.remove(item)) {
+            discard(item);
+            throw new OpenLineageClientException("Transport is closed, event was not sent");
+        }
+    }
+
+    /**
+     * Waits until every accepted item has been handed to the sink or dropped.
+     *
+     * @return true if the queue drained before the timeout
+     */
+    boolean flush(Duration timeout) {
+        long remaining = timeout.toNanos();
+        idleLock.lock();
+        try {
+            while (pending.get() > 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = idle.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting items, drains the queue within the timeout and then stops the sender threads.
+     * Whatever is still queued after the deadline is dropped; emptying the queue also unblocks producers
+     * waiting under the BLOCK policy, which then drop their item and fail.
+     */
+    void close(Duration timeout) {
+        closed = true;
+        if (!flush(timeout)) {
+            log.warn("OpenLineage event queue did not drain within {}, dropping remaining events", timeout);
+        }
+        senders.forEach(Thread::interrupt);
+        for (Thread sender : senders) {
+            try {
+                sender.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        List<T> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        leftovers.forEach(this::discard);
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        while (true) {
+            T item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                sink.accept(item);
+            } catch (RuntimeException e) {
+                log.warn("Failed to send OpenLineage event asynchronously", e);
+            } finally {
+                complete(1);
+            }
+        }
+    }
+
+    private void discard(T item) {
+        long total = dropped.incrementAndGet();
+        try {
+            if (dropHandler != null) {
+                dropHandler.accept(item);
+            } else {
+                log.warn("OpenLineage event queue is full or closed, dropped {} event(s) so far", total);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to hand off dropped OpenLineage event", e);
+        } finally {
+            complete(1);
+        }
+    }
+
+    private void complete(int count) {
+        if (pending.addAndGet(-count) <= 0) {
+            idleLock.lock();
+            try {
+                idle.signalAll();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+}
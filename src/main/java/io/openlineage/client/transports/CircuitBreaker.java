@@ -0,0 +1,143 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker over the outcomes of recent requests.
+ * <ul>
+ *   <li>CLOSED: requests flow; once the window holds enough calls and the failure or slow-call rate
+ *   reaches its threshold, the breaker opens.</li>
+ *   <li>OPEN: requests are rejected without touching the network until the open duration has passed.</li>
+ *   <li>HALF_OPEN: a few probe requests are let through; if they all succeed the breaker closes,
+ *   any failure opens it again.</li>
+ * </ul>
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    // Ring buffer of the last window-size outcomes
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    CircuitBreaker(double failureRateThreshold, double slowCallRateThreshold, Duration slowCallDuration,
+                   int windowSize, int minimumCalls, Duration openDuration, int halfOpenProbes) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.failed = new boolean[Math.max(1, windowSize)];
+        this.slow = new boolean[failed.length];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, failed.length));
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    /**
+     * Returns true if a request may be sent now. Every permitted request must be followed by
+     * {@link #onSuccess} or {@link #onFailure}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+            log.info("OpenLineage endpoint circuit breaker is half-open, probing");
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) {
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess(long durationNanos) {
+        boolean isSlow = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (isSlow) {
+                open();
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                close();
+            }
+            return;
+        }
+        record(false, isSlow);
+    }
+
+    synchronized void onFailure(long durationNanos) {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true, durationNanos >= slowCallNanos);
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean isFailure, boolean isSlow) {
+        if (state != State.CLOSED) {
+            return; // a request started before the breaker opened
+        }
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = isFailure;
+        slow[next] = isSlow;
+        failures += isFailure ? 1 : 0;
+        slowCalls += isSlow ? 1 : 0;
+        next = (next + 1) % failed.length;
+
+        if (recorded >= minimumCalls
+            && ((double) failures / recorded >= failureRateThreshold
+                || (double) slowCalls / recorded >= slowCallRateThreshold)) {
+            open();
+        }
+    }
+
+    private void open() {
+        log.warn("OpenLineage endpoint circuit breaker opened, failing fast for {} ms", openNanos / 1_000_000);
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+    }
+
+    private void close() {
+        log.info("OpenLineage endpoint circuit breaker closed");
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
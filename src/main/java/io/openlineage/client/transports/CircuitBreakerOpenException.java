@@ -0,0 +1,13 @@
+package io.openlineage.client.transports;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request while the endpoint's circuit breaker is open.
+ */
+final class CircuitBreakerOpenException extends IOException {
+
+    CircuitBreakerOpenException() {
+        super("OpenLineage endpoint circuit breaker is open, request was not sent");
+    }
+}
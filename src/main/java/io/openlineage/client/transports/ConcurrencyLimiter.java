@@ -0,0 +1,96 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD limit on the number of requests in flight. A request that completes quickly while the limit is
+ * nearly used up raises the limit by one over roughly one limit's worth of requests; a request that
+ * fails with an I/O error, 429 or 5xx, or takes longer than the latency threshold, cuts the limit by the
+ * backoff ratio. Callers beyond the limit wait for a slot, so the number of concurrent requests tracks
+ * what the collector can absorb instead of a fixed thread or connection count.
+ */
+@Slf4j
+final class ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+    }
+
+    /**
+     * Waits for a slot below the current limit, at most the given time. Every acquire must be followed by
+     * {@link #release}.
+     */
+    void acquire(long timeoutNanos) throws IOException {
+        long remaining = timeoutNanos;
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    throw new IOException("Timed out waiting for a request slot, concurrency limit " + (int) limit);
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a request slot");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot and adjusts the limit from the outcome of the request.
+     *
+     * @param overloaded true if the request failed in a way that suggests the collector is overloaded
+     */
+    void release(long durationNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            // Only a limit that is actually being used says anything about whether it could be higher
+            boolean saturated = inFlight * 2 >= (int) limit;
+            inFlight--;
+            if (overloaded || durationNanos > latencyThresholdNanos) {
+                double reduced = Math.max(minLimit, limit * BACKOFF_RATIO);
+                if ((int) reduced < (int) limit) {
+                    log.debug("OpenLineage concurrency limit reduced to {}", (int) reduced);
+                }
+                limit = reduced;
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
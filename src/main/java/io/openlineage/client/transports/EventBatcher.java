@@ -0,0 +1,297 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Groups serialized events into batches bounded by event count, byte size and linger time, and
+ * sends each batch as a single request body. If the server rejects batch requests, the batch is
+ * resent as single-event requests and batching is switched off for the rest of the transport's life.
+ * Events resent singly succeed or fail one by one, so only the failed ones reach the failure handler.
+ */
+@Slf4j
+final class EventBatcher implements AutoCloseable {
+
+    /**
+     * Takes over the events of a batch that could not be sent; returns false to let the failure propagate.
+     */
+    interface FailedBatchHandler {
+        boolean onFailure(List<byte[]> events, IOException cause);
+    }
+
+    private final InsecureHttpConfig.BatchFormat format;
+    private final int maxEvents;
+    private final long maxBytes;
+    private final long lingerMillis;
+    private final PayloadSender batchSender;
+    private final PayloadSender singleSender;
+    private final FailedBatchHandler failedBatchHandler;
+    private final ScheduledExecutorService lingerTimer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Entry> current = new ArrayList<>();
+    private long currentBytes;
+    private volatile boolean batchesSupported = true;
+
+    EventBatcher(InsecureHttpConfig.BatchFormat format, int maxEvents, long maxBytes, Duration linger,
+                 PayloadSender batchSender, PayloadSender singleSender, FailedBatchHandler failedBatchHandler) {
+        this.format = format;
+        this.maxEvents = Math.max(1, maxEvents);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.lingerMillis = Math.max(1, linger.toMillis());
+        this.batchSender = batchSender;
+        this.singleSender = singleSender;
+        this.failedBatchHandler = failedBatchHandler;
+        this.lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "openlineage-http-insecure-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    boolean isBatchingSupported() {
+        return batchesSupported;
+    }
+
+    /**
+     * Adds a serialized event. If this fills the batch, the batch is sent on the calling thread.
+     *
+     * @param onDelivered run once the event has been sent or taken by the failure handler, or null
+     */
+    void add(byte[] payload, Runnable onDelivered) throws IOException {
+        Entry event = new Entry(payload, onDelivered);
+        if (!batchesSupported || payload.length >= maxBytes) {
+            // Whatever is still batched was emitted earlier, so it goes out first
+            List<Entry> earlier;
+            lock.lock();
+            try {
+                earlier = takeBatch();
+            } finally {
+                lock.unlock();
+            }
+            sendInOrder(earlier, Collections.singletonList(event));
+            return;
+        }
+        List<Entry> full = null;
+        lock.lock();
+        try {
+            if (currentBytes + payload.length > maxBytes) {
+                full = takeBatch();
+            }
+            if (current.isEmpty()) {
+                List<Entry> batch = current;
+                lingerTimer.schedule(() -> flushIfCurrent(batch), lingerMillis, TimeUnit.MILLISECONDS);
+            }
+            current.add(event);
+            currentBytes += payload.length;
+            if (full == null && current.size() >= maxEvents) {
+                full = takeBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            sendBatch(full);
+        }
+    }
+
+    /**
+     * Sends whatever is currently batched, regardless of size or age.
+     */
+    void flush() throws IOException {
+        List<Entry> batch;
+        lock.lock();
+        try {
+            batch = takeBatch();
+        } finally {
+            lock.unlock();
+        }
+        sendBatch(batch);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lingerTimer.shutdownNow();
+        flush();
+    }
+
+    private void flushIfCurrent(List<Entry> batch) {
+        lock.lock();
+        try {
+            // The batch may already have been sent because it filled up before the linger expired
+            if (batch != current) {
+                return;
+            }
+            takeBatch();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            sendBatch(batch);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to send batch of {} OpenLineage events", batch.size(), e);
+        }
+    }
+
+    /**
+     * Sends the first batch and then the second, even if the first fails; the first failure is rethrown.
+     */
+    private void sendInOrder(List<Entry> first, List<Entry> second) throws IOException {
+        IOException failure = null;
+        try {
+            sendBatch(first);
+        } catch (IOException e) {
+            failure = e;
+        }
+        try {
+            sendBatch(second);
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            } else {
+                failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private List<Entry> takeBatch() {
+        List<Entry> batch = current;
+        current = new ArrayList<>();
+        currentBytes = 0;
+        return batch;
+    }
+
+    private void sendBatch(List<Entry> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() > 1 && batchesSupported) {
+            try {
+                if (sendAsBatch(batch)) {
+                    delivered(batch);
+                    return;
+                }
+            } catch (IOException e) {
+                // Nothing in the batch was delivered, so the handler can take all of it
+                if (failedBatchHandler == null || !failedBatchHandler.onFailure(payloads(batch), e)) {
+                    throw e;
+                }
+                delivered(batch);
+                return;
+            }
+        }
+        // Each event stands alone: one the server rejects neither holds back nor takes down the others
+        IOException failure = null;
+        for (Entry event : batch) {
+            try {
+                sendSingle(event.payload);
+            } catch (IOException e) {
+                if (failedBatchHandler == null
+                    || !failedBatchHandler.onFailure(Collections.singletonList(event.payload), e)) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                    continue;
+                }
+            }
+            delivered(Collections.singletonList(event));
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void delivered(List<Entry> events) {
+        for (Entry event : events) {
+            if (event.onDelivered != null) {
+                event.onDelivered.run();
+            }
+        }
+    }
+
+    private static List<byte[]> payloads(List<Entry> batch) {
+        List<byte[]> payloads = new ArrayList<>(batch.size());
+        for (Entry event : batch) {
+            payloads.add(event.payload);
+        }
+        return payloads;
+    }
+
+    /**
+     * Sends the batch as one request. Returns false if its events must be sent singly instead.
+     */
+    private boolean sendAsBatch(List<Entry> batch) throws IOException {
+        byte[] body = encode(batch);
+        HttpResponse response = batchSender.send(body, 0, body.length);
+        if (response.isSuccessful()) {
+            return true;
+        }
+        int status = response.getStatusCode();
+        if (status == 404 || status == 405 || status == 415 || status == 501) {
+            batchesSupported = false;
+            log.warn("Batch endpoint rejected request with response code {}, falling back to single-event requests", status);
+        } else if (status != 400 && status != 413 && status != 422) {
+            throw new HttpStatusException("HTTP batch request failed with response code: ", status);
+        }
+        return false;
+    }
+
+    private void sendSingle(byte[] event) throws IOException {
+        HttpResponse response = singleSender.send(event, 0, event.length);
+        if (!response.isSuccessful()) {
+            throw new HttpStatusException("HTTP request failed with response code: ", response.getStatusCode());
+        }
+    }
+
+    private byte[] encode(List<Entry> batch) {
+        int size = format == InsecureHttpConfig.BatchFormat.NDJSON ? batch.size() : batch.size() + 1;
+        for (Entry event : batch) {
+            size += event.payload.length;
+        }
+        byte[] body = new byte[size];
+        int position = 0;
+        if (format == InsecureHttpConfig.BatchFormat.NDJSON) {
+            for (Entry event : batch) {
+                System.arraycopy(event.payload, 0, body, position, event.payload.length);
+                position += event.payload.length;
+                body[position++] = '\n';
+            }
+        } else {
+            body[position++] = '[';
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) {
+                    body[position++] = ',';
+                }
+                byte[] event = batch.get(i).payload;
+                System.arraycopy(event, 0, body, position, event.length);
+                position += event.length;
+            }
+            body[position] = ']';
+        }
+        return body;
+    }
+
+    private static final class Entry {
+        private final byte[] payload;
+        private final Runnable onDelivered;
+
+        private Entry(byte[] payload, Runnable onDelivered) {
+            this.payload = payload;
+            this.onDelivered = onDelivered;
+        }
+    }
+}
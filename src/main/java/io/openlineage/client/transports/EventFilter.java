@@ -0,0 +1,241 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pre-send filter that thins out redundant run events. Only RUNNING and OTHER run events are ever
+ * dropped; START, COMPLETE, FAIL and ABORT always pass, as do dataset and job events.
+ * <ul>
+ *   <li>Sampling keeps each event of a type with the configured probability.</li>
+ *   <li>Deduplication drops an event whose serialized form, apart from eventTime, is identical to the
+ *   last one sent for the same run and job. Dataset facets count by content, so an event whose facets
+ *   the facet cache left out still matches the one that carried them.</li>
+ *   <li>Coalescing keeps the first event per run and job in each window and drops the rest of the burst.</li>
+ * </ul>
+ * The last sent state per run is kept in an LRU bounded by the cache size, and forgotten once the run
+ * reaches a terminal state. An accepted event's state is held per thread until it is taken with
+ * {@link #takePending()} and committed once the event has been delivered, so a retry of an event that
+ * failed to send is not dropped as a duplicate of it.
+ */
+@Slf4j
+final class EventFilter {
+
+    private static final byte[] EVENT_TIME_PREFIX = "{\"eventTime\":".getBytes(StandardCharsets.UTF_8);
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<OpenLineage.RunEvent.EventType, Double> sampleRates =
+        new EnumMap<>(OpenLineage.RunEvent.EventType.class);
+    private final boolean dedup;
+    private final long coalesceNanos;
+    private final LinkedHashMap<String, LastSent> lastSent;
+    private final ThreadLocal<Pending> pending = new ThreadLocal<>();
+
+    EventFilter(Map<String, Double> sampleRates, boolean dedup, int cacheSize, Duration coalesceWindow) {
+        if (sampleRates != null) {
+            for (Map.Entry<String, Double> rate : sampleRates.entrySet()) {
+                OpenLineage.RunEvent.EventType type = OpenLineage.RunEvent.EventType.valueOf(rate.getKey());
+                if (isFilterable(type)) {
+                    this.sampleRates.put(type, rate.getValue());
+                } else {
+                    log.warn("Ignoring sample rate for {} events, state transitions are never sampled", type);
+                }
+            }
+        }
+        this.dedup = dedup;
+        this.coalesceNanos = coalesceWindow.toNanos();
+        int capacity = Math.max(1, cacheSize);
+        this.lastSent = new LinkedHashMap<String, LastSent>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LastSent> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns true if the event should be sent. The payload is the event's serialized form.
+     */
+    boolean accept(Object event, byte[] payload, int length) {
+        return accept(event, payload, length, null);
+    }
+
+    /**
+     * Returns true if the event should be sent. The payload is the event's serialized form, with its
+     * dataset facets where the facet trimmer reports them, or null without the facet cache.
+     */
+    boolean accept(Object event, byte[] payload, int length, FacetTrimmer.CachedContent cachedContent) {
+        pending.remove();
+        OpenLineage.RunEvent.EventType type;
+        String key;
+        if (event instanceof OpenLineage.RunEvent) {
+            type = ((OpenLineage.RunEvent) event).getEventType();
+            key = runKey((OpenLineage.RunEvent) event);
+        } else if (event instanceof EventTemplate.Instance) {
+            type = ((EventTemplate.Instance) event).getEventType();
+            key = ((EventTemplate.Instance) event).getRunKey();
+        } else {
+            return true;
+        }
+        if (!isFilterable(type)) {
+            if (type != OpenLineage.RunEvent.EventType.START && key != null) {
+                forget(key);
+            }
+            return true;
+        }
+        Double rate = sampleRates.get(type);
+        if (rate != null && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return false;
+        }
+        if (key == null || (!dedup && coalesceNanos <= 0)) {
+            return true;
+        }
+        long fingerprint = dedup ? fingerprint(payload, length, cachedContent) : 0;
+        long now = System.nanoTime();
+        synchronized (lastSent) {
+            LastSent previous = lastSent.get(key);
+            if (previous != null) {
+                if (dedup && previous.fingerprint == fingerprint) {
+                    return false;
+                }
+                if (now - previous.sentAtNanos < coalesceNanos) {
+                    return false;
+                }
+            }
+        }
+        pending.set(new Pending(key, new LastSent(fingerprint, now)));
+        return true;
+    }
+
+    /**
+     * Detaches the state of the event accepted last on this thread, or returns null if it has none. It stays
+     * with the event until it is delivered and passed to {@link #commit(Pending)}.
+     */
+    Pending takePending() {
+        Pending taken = pending.get();
+        if (taken != null) {
+            pending.remove();
+        }
+        return taken;
+    }
+
+    /**
+     * Records a delivered event as the last one sent for its run. Accepts null for an event without state.
+     */
+    void commit(Pending sent) {
+        if (sent == null) {
+            return;
+        }
+        synchronized (lastSent) {
+            lastSent.put(sent.key, sent.lastSent);
+        }
+    }
+
+    private void forget(String key) {
+        synchronized (lastSent) {
+            lastSent.remove(key);
+        }
+    }
+
+    private static boolean isFilterable(OpenLineage.RunEvent.EventType type) {
+        return type == OpenLineage.RunEvent.EventType.RUNNING || type == OpenLineage.RunEvent.EventType.OTHER;
+    }
+
+    private static String runKey(OpenLineage.RunEvent event) {
+        if (event.getRun() == null || event.getRun().getRunId() == null || event.getJob() == null) {
+            return null;
+        }
+        return event.getRun().getRunId() + "\n" + event.getJob().getNamespace() + "\n" + event.getJob().getName();
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the payload, skipping the eventTime value. RunEvent serializes eventTime
+     * first, so it is found without parsing; if it is not there, the whole payload is hashed.
+     */
+    static long fingerprint(byte[] payload, int length) {
+        return fingerprint(payload, length, null);
+    }
+
+    /**
+     * Fingerprint that skips the byte ranges holding dataset facets and adds the hash of their content
+     * instead, so it does not depend on which facets the facet cache left out.
+     */
+    static long fingerprint(byte[] payload, int length, FacetTrimmer.CachedContent cachedContent) {
+        int position = 0;
+        if (startsWith(payload, length, EVENT_TIME_PREFIX)) {
+            position = EVENT_TIME_PREFIX.length;
+            if (position < length && payload[position] == '"') {
+                position++;
+                while (position < length && payload[position] != '"') {
+                    position++;
+                }
+                position++;
+            } else {
+                while (position < length && payload[position] != ',' && payload[position] != '}') {
+                    position++;
+                }
+            }
+        }
+        long hash = FNV_OFFSET_BASIS;
+        if (cachedContent != null) {
+            for (int range = 0; range < cachedContent.getRangeCount(); range++) {
+                int start = Math.min(cachedContent.getRangeStart(range), length);
+                hash = hash(hash, payload, position, start);
+                position = Math.max(position, Math.min(cachedContent.getRangeEnd(range), length));
+            }
+            hash = (hash ^ cachedContent.getHash()) * FNV_PRIME;
+        }
+        return hash(hash, payload, position, length);
+    }
+
+    private static long hash(long hash, byte[] payload, int from, int to) {
+        for (int i = from; i < to; i++) {
+            hash ^= payload[i] & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static boolean startsWith(byte[] payload, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (payload[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Run state of one accepted event, not yet committed.
+     */
+    static final class Pending {
+        private final String key;
+        private final LastSent lastSent;
+
+        private Pending(String key, LastSent lastSent) {
+            this.key = key;
+            this.lastSent = lastSent;
+        }
+    }
+
+    private static final class LastSent {
+        private final long fingerprint;
+        private final long sentAtNanos;
+
+        private LastSent(long fingerprint, long sentAtNanos) {
+            this.fingerprint = fingerprint;
+            this.sentAtNanos = sentAtNanos;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+
+/**
+ * Serializes events with a pre-built {@link ObjectWriter} into a per-thread buffer and generator,
+ * so steady-state serialization allocates neither an intermediate String nor a new byte[] per event.
+ * Events emitted from an {@link EventTemplate} are copied from the template's fragments instead.
+ */
+final class EventSerializer {
+
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    // Buffers that grew past this for an unusually large event are not kept around
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private final ObjectWriter writer;
+    private final JsonFactory factory;
+    private final ThreadLocal<ThreadState> threadState = new ThreadLocal<>();
+
+    EventSerializer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer();
+        // A generator reused across events must not write a separator between root values
+        this.factory = objectMapper.getFactory().copy().setRootValueSeparator(null);
+    }
+
+    /**
+     * Serializes the event into this thread's buffer and returns it. The buffer is overwritten by
+     * the next call on the same thread.
+     */
+    PayloadBuffer serialize(Object event) throws IOException {
+        ThreadState state = threadState.get();
+        if (state == null || state.buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            state = new ThreadState(factory);
+            threadState.set(state);
+        }
+        state.buffer.reset();
+        if (event instanceof EventTemplate.Instance) {
+            // Pre-encoded; only the few variable values are written
+            ((EventTemplate.Instance) event).writeTo(state.buffer);
+            return state.buffer;
+        }
+        boolean written = false;
+        try {
+            writer.writeValue(state.generator, event);
+            state.generator.flush();
+            written = true;
+        } finally {
+            if (!written) {
+                // The generator may be left mid-document, whatever was thrown; start from a clean one next time
+                threadState.remove();
+            }
+        }
+        return state.buffer;
+    }
+
+    ObjectWriter getWriter() {
+        return writer;
+    }
+
+    private static final class ThreadState {
+        private final PayloadBuffer buffer;
+        private final JsonGenerator generator;
+
+        private ThreadState(JsonFactory factory) throws IOException {
+            this.buffer = new PayloadBuffer(INITIAL_BUFFER_SIZE);
+            this.generator = factory.createGenerator(buffer);
+        }
+    }
+}
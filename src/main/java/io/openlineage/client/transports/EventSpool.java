@@ -0,0 +1,455 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented, memory-mapped write-ahead log of serialized events that could not be sent.
+ * <p>
+ * Each segment is a pre-sized file of records laid out as {@code [int length][int crc32][payload]}; a
+ * zero length marks the end of written data. The read position is persisted in a separate offset file,
+ * replaced atomically every {@value #OFFSET_WRITE_RECORDS} committed records, once a second while records
+ * are committed, and whenever the spool runs empty; after a crash replay resumes at the last persisted
+ * position, so records committed since then are delivered again. Appended records reach the disk
+ * according to the {@link InsecureHttpConfig.SpoolFsync} policy. A record torn by a crash fails its
+ * checksum and ends the segment.
+ * When the spool would grow beyond its size cap, the oldest segment is dropped. A lock file keeps a
+ * second spool, in this process or another, from opening the same directory.
+ */
+@Slf4j
+final class EventSpool implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String OFFSET_FILE = "spool.offset";
+    private static final String LOCK_FILE = "spool.lock";
+    private static final int HEADER_SIZE = 8;
+    private static final int OFFSET_WRITE_RECORDS = 100;
+    private static final long OFFSET_WRITE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long maxBytes;
+    private final InsecureHttpConfig.SpoolFsync fsync;
+    private final long fsyncIntervalNanos;
+    private final FileChannel lockChannel;
+    private final FileLock directoryLock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+    private final byte[] crcScratch = new byte[8192];
+
+    // Segment id to file size, oldest first
+    private final TreeMap<Long, Long> segments = new TreeMap<>();
+    private long totalBytes;
+
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private int writePosition;
+
+    private long readSegment;
+    private int readPosition;
+    private ByteBuffer readBuffer;
+    private long readBufferSegment = -1;
+    private int peekedEnd = -1;
+
+    // Read on every emit without the lock, so checking for a backlog costs one volatile read
+    private volatile boolean empty;
+    private int uncommittedRecords;
+    private long offsetWrittenNanos = System.nanoTime();
+    private long forcedNanos = System.nanoTime();
+
+    private boolean closed;
+
+    EventSpool(Path directory, long segmentSize, long maxBytes) throws IOException {
+        this(directory, segmentSize, maxBytes, InsecureHttpConfig.SpoolFsync.NEVER, Duration.ZERO);
+    }
+
+    EventSpool(Path directory, long segmentSize, long maxBytes, InsecureHttpConfig.SpoolFsync fsync,
+               Duration fsyncInterval) throws IOException {
+        this.directory = directory;
+        this.segmentSize = Math.min(Integer.MAX_VALUE, Math.max(HEADER_SIZE + 1024, segmentSize));
+        this.maxBytes = Math.max(this.segmentSize, maxBytes);
+        this.fsync = fsync;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+        try {
+            this.directoryLock = lockDirectory();
+            recover();
+        } catch (IOException | RuntimeException e) {
+            // Closing the channel releases the lock, if it was taken
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a record. Returns false if the record could not be stored because it alone exceeds the size cap.
+     */
+    boolean append(byte[] payload, int offset, int length) throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Spool is closed");
+            }
+            long recordSize = HEADER_SIZE + (long) length;
+            if (recordSize > maxBytes || recordSize > Integer.MAX_VALUE) {
+                return false;
+            }
+            if (writePosition + recordSize > writeBuffer.capacity()) {
+                rotate(recordSize);
+            }
+            crc.reset();
+            crc.update(payload, offset, length);
+            // Payload and checksum first, length last, so a reader never sees a length without its data
+            writeBuffer.putInt(writePosition + 4, (int) crc.getValue());
+            ByteBuffer target = writeBuffer.duplicate();
+            target.position(writePosition + HEADER_SIZE);
+            target.put(payload, offset, length);
+            writeBuffer.putInt(writePosition, length);
+            writePosition += (int) recordSize;
+            empty = false;
+            force();
+            notEmpty.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of the oldest unsent record without removing it, or null if the spool is empty.
+     * Call {@link #commit()} once the record has been delivered.
+     */
+    byte[] peek() throws IOException {
+        lock.lock();
+        try {
+            while (true) {
+                ByteBuffer buffer = readBuffer();
+                int limit = readSegment == writeSegment ? writePosition : buffer.capacity();
+                int end = recordEnd(buffer, readPosition, limit);
+                if (end > 0) {
+                    byte[] payload = new byte[end - readPosition - HEADER_SIZE];
+                    ByteBuffer source = buffer.duplicate();
+                    source.position(readPosition + HEADER_SIZE);
+                    source.get(payload);
+                    peekedEnd = end;
+                    return payload;
+                }
+                if (readSegment == writeSegment) {
+                    return null;
+                }
+                // Finished an older segment; everything in it has been delivered
+                advanceToNextSegment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the record returned by the last {@link #peek()} as delivered.
+     */
+    void commit() throws IOException {
+        lock.lock();
+        try {
+            if (peekedEnd < 0) {
+                return;
+            }
+            readPosition = peekedEnd;
+            peekedEnd = -1;
+            updateEmpty();
+            // Rewriting the offset file per record would cap replay at a few thousand records a second
+            long now = System.nanoTime();
+            if (++uncommittedRecords >= OFFSET_WRITE_RECORDS || now - offsetWrittenNanos >= OFFSET_WRITE_NANOS
+                || empty) {
+                writeOffset();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * True if no record is waiting. May briefly report a backlog that turns out to hold no valid record.
+     */
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Waits until a record may be available or the timeout passes.
+     */
+    void awaitRecords(long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            if (!closed && empty) {
+                notEmpty.await(timeout, unit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getSizeBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notEmpty.signalAll();
+            try {
+                writeBuffer.force();
+                writeOffset();
+            } finally {
+                directoryLock.release();
+                lockChannel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FileLock lockDirectory() throws IOException {
+        FileLock directoryLock;
+        try {
+            directoryLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Held by another spool in this JVM
+            directoryLock = null;
+        }
+        if (directoryLock == null) {
+            throw new IOException("Spool directory " + directory + " is in use by another transport or process");
+        }
+        return directoryLock;
+    }
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(id, Files.size(file));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring unexpected file in spool directory: {}", file);
+                }
+            }
+        }
+
+        readSegment = segments.isEmpty() ? 1 : segments.firstKey();
+        readPosition = 0;
+        Path offsetFile = directory.resolve(OFFSET_FILE);
+        if (Files.exists(offsetFile)) {
+            String[] offset = new String(Files.readAllBytes(offsetFile), StandardCharsets.US_ASCII).trim().split(" ");
+            try {
+                long segment = Long.parseLong(offset[0]);
+                if (segments.containsKey(segment)) {
+                    readSegment = segment;
+                    readPosition = Integer.parseInt(offset[1]);
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                log.warn("Ignoring unreadable spool offset file {}, replaying from the oldest segment", offsetFile);
+            }
+        }
+        // Segments before the read position were fully delivered before the last shutdown
+        while (!segments.isEmpty() && segments.firstKey() < readSegment) {
+            deleteSegment(segments.firstKey());
+        }
+        for (long size : segments.values()) {
+            totalBytes += size;
+        }
+
+        if (segments.isEmpty()) {
+            openWriteSegment(readSegment, segmentSize);
+            updateEmpty();
+            return;
+        }
+        writeSegment = segments.lastKey();
+        writeBuffer = map(writeSegment, segments.get(writeSegment));
+        int position = writeSegment == readSegment ? readPosition : 0;
+        int end;
+        while ((end = recordEnd(writeBuffer, position, writeBuffer.capacity())) > 0) {
+            position = end;
+        }
+        writePosition = position;
+        if (position < writeBuffer.capacity()) {
+            // Clear whatever a crash may have left half-written past the last valid record
+            writeBuffer.putInt(position, 0);
+        }
+        updateEmpty();
+    }
+
+    private void updateEmpty() {
+        // Valid records run from the read position to the write position; older segments may still hold some
+        empty = readSegment == writeSegment && readPosition >= writePosition;
+    }
+
+    private void force() {
+        long now = System.nanoTime();
+        if (fsync == InsecureHttpConfig.SpoolFsync.ALWAYS
+            || fsync == InsecureHttpConfig.SpoolFsync.INTERVAL && now - forcedNanos >= fsyncIntervalNanos) {
+            writeBuffer.force();
+            forcedNanos = now;
+        }
+    }
+
+    private void rotate(long recordSize) throws IOException {
+        writeBuffer.force();
+        long size = Math.max(segmentSize, recordSize);
+        while (totalBytes + size > maxBytes && segments.firstKey() != writeSegment) {
+            long oldest = segments.firstKey();
+            log.warn("OpenLineage spool exceeded {} bytes, dropping oldest segment {}", maxBytes, oldest);
+            if (oldest == readSegment) {
+                advanceToNextSegment();
+            } else {
+                deleteSegment(oldest);
+            }
+        }
+        openWriteSegment(writeSegment + 1, size);
+    }
+
+    private void openWriteSegment(long id, long size) throws IOException {
+        Path file = segmentPath(id);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+            // Pre-size so the whole segment can be mapped; the new bytes read as zero, i.e. end of data
+            if (channel.size() < size) {
+                channel.write(ByteBuffer.allocate(1), size - 1);
+            }
+        }
+        segments.put(id, size);
+        totalBytes += size;
+        writeSegment = id;
+        writeBuffer = map(id, size);
+        writePosition = 0;
+    }
+
+    private MappedByteBuffer map(long id, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(id), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private ByteBuffer readBuffer() throws IOException {
+        if (readSegment == writeSegment) {
+            return writeBuffer;
+        }
+        if (readBufferSegment != readSegment) {
+            readBuffer = map(readSegment, segments.get(readSegment));
+            readBufferSegment = readSegment;
+        }
+        return readBuffer;
+    }
+
+    private void advanceToNextSegment() throws IOException {
+        long finished = readSegment;
+        Long next = segments.higherKey(finished);
+        readSegment = next != null ? next : writeSegment;
+        readPosition = 0;
+        peekedEnd = -1;
+        readBuffer = null;
+        readBufferSegment = -1;
+        updateEmpty();
+        writeOffset();
+        deleteSegment(finished);
+    }
+
+    private void deleteSegment(long id) throws IOException {
+        Long size = segments.remove(id);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        // A mapping can outlive its file on POSIX systems; it is released when garbage collected
+        Files.deleteIfExists(segmentPath(id));
+    }
+
+    private void writeOffset() throws IOException {
+        Path temp = directory.resolve(OFFSET_FILE + ".tmp");
+        Files.write(temp, (readSegment + " " + readPosition).getBytes(StandardCharsets.US_ASCII));
+        Files.move(temp, directory.resolve(OFFSET_FILE), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        uncommittedRecords = 0;
+        offsetWrittenNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the position just past the valid record at the given position, or -1 if there is none.
+     */
+    private int recordEnd(ByteBuffer buffer, int position, int limit) {
+        if (position + HEADER_SIZE > limit) {
+            return -1;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || (long) position + HEADER_SIZE + length > limit) {
+            return -1;
+        }
+        int checksum = buffer.getInt(position + 4);
+        crc.reset();
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(position + HEADER_SIZE);
+        payload.limit(position + HEADER_SIZE + length);
+        updateCrc(payload);
+        if ((int) crc.getValue() != checksum) {
+            return -1;
+        }
+        return position + HEADER_SIZE + length;
+    }
+
+    private void updateCrc(ByteBuffer payload) {
+        // CRC32.update(ByteBuffer) is Java 9+; copy through a small array on Java 8
+        while (payload.hasRemaining()) {
+            int count = Math.min(crcScratch.length, payload.remaining());
+            payload.get(crcScratch, 0, count);
+            crc.update(crcScratch, 0, count);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Number of segment files currently on disk, for tests and diagnostics.
+     */
+    int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
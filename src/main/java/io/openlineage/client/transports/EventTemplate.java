@@ -0,0 +1,164 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.DecimalUtils;
+import io.openlineage.client.OpenLineage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A run event compiled once into UTF-8 fragments around its runId, eventType and eventTime, created with
+ * {@link InsecureHttpTransport#compileTemplate}. Emitting from a template splices the three values in
+ * between the fragments, so everything else in the event, however many datasets and facets it has, is
+ * copied as bytes instead of being serialized again. Templates are immutable and can be shared by threads.
+ */
+public final class EventTemplate {
+
+    private static final String MARKER = "$openlineage-template-";
+    private static final String EVENT_TIME_PLACEHOLDER = MARKER + "eventTime$";
+    private static final String EVENT_TYPE_PLACEHOLDER = MARKER + "eventType$";
+    private static final String RUN_ID_PLACEHOLDER = MARKER + "runId$";
+
+    // The value of slots[i] goes between fragments[i] and fragments[i + 1]
+    private final byte[][] fragments;
+    private final Slot[] slots;
+    private final String jobNamespace;
+    private final String jobName;
+
+    private EventTemplate(byte[][] fragments, Slot[] slots, String jobNamespace, String jobName) {
+        this.fragments = fragments;
+        this.slots = slots;
+        this.jobNamespace = jobNamespace;
+        this.jobName = jobName;
+    }
+
+    /**
+     * Serializes the sample with the given mapper, replacing its runId, eventType and eventTime with
+     * placeholders, and cuts the result into fragments at the placeholders.
+     */
+    static EventTemplate compile(ObjectMapper objectMapper, OpenLineage.RunEvent sample) throws IOException {
+        if (sample.getRun() == null || sample.getJob() == null) {
+            throw new IllegalArgumentException("A template needs a sample event with a run and a job");
+        }
+        ObjectNode event = objectMapper.valueToTree(sample);
+        // Replacing a value keeps the field where it was, so the fragments keep the serialized field order
+        event.put("eventTime", EVENT_TIME_PLACEHOLDER);
+        event.put("eventType", EVENT_TYPE_PLACEHOLDER);
+        ((ObjectNode) event.get("run")).put("runId", RUN_ID_PLACEHOLDER);
+        String json = new String(objectMapper.writeValueAsBytes(event), StandardCharsets.UTF_8);
+
+        int[] positions = new int[Slot.values().length];
+        for (Slot slot : Slot.values()) {
+            String quoted = '"' + slot.placeholder + '"';
+            int position = json.indexOf(quoted);
+            if (position < 0 || json.indexOf(quoted, position + 1) >= 0) {
+                throw new IllegalArgumentException("Sample event cannot be used as a template");
+            }
+            positions[slot.ordinal()] = position;
+        }
+        Slot[] slots = Slot.values();
+        Arrays.sort(slots, Comparator.comparingInt(slot -> positions[slot.ordinal()]));
+
+        byte[][] fragments = new byte[slots.length + 1][];
+        int start = 0;
+        for (int i = 0; i < slots.length; i++) {
+            fragments[i] = json.substring(start, positions[slots[i].ordinal()]).getBytes(StandardCharsets.UTF_8);
+            start = positions[slots[i].ordinal()] + slots[i].placeholder.length() + 2;
+        }
+        fragments[slots.length] = json.substring(start).getBytes(StandardCharsets.UTF_8);
+        return new EventTemplate(fragments, slots, sample.getJob().getNamespace(), sample.getJob().getName());
+    }
+
+    /**
+     * Writes the event with the given values, as the transport's serializer would write the equivalent
+     * RunEvent.
+     */
+    void writeTo(PayloadBuffer buffer, UUID runId, OpenLineage.RunEvent.EventType eventType,
+                 ZonedDateTime eventTime) {
+        for (int i = 0; i < slots.length; i++) {
+            buffer.write(fragments[i], 0, fragments[i].length);
+            switch (slots[i]) {
+                case EVENT_TIME:
+                    // Timestamps are written the way the JavaTimeModule writes them: decimal epoch seconds
+                    Instant instant = eventTime.toInstant();
+                    writeAscii(buffer, DecimalUtils.toBigDecimal(instant.getEpochSecond(), instant.getNano()).toString());
+                    break;
+                case EVENT_TYPE:
+                    buffer.write('"');
+                    writeAscii(buffer, eventType.name());
+                    buffer.write('"');
+                    break;
+                case RUN_ID:
+                    buffer.write('"');
+                    writeAscii(buffer, runId.toString());
+                    buffer.write('"');
+                    break;
+            }
+        }
+        byte[] last = fragments[slots.length];
+        buffer.write(last, 0, last.length);
+    }
+
+    String getJobNamespace() {
+        return jobNamespace;
+    }
+
+    String getJobName() {
+        return jobName;
+    }
+
+    private static void writeAscii(PayloadBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            buffer.write(value.charAt(i));
+        }
+    }
+
+    private enum Slot {
+        EVENT_TIME(EVENT_TIME_PLACEHOLDER),
+        EVENT_TYPE(EVENT_TYPE_PLACEHOLDER),
+        RUN_ID(RUN_ID_PLACEHOLDER);
+
+        private final String placeholder;
+
+        Slot(String placeholder) {
+            this.placeholder = placeholder;
+        }
+    }
+
+    /**
+     * One emit of a template, queued and serialized like an event object.
+     */
+    static final class Instance {
+        private final EventTemplate template;
+        private final UUID runId;
+        private final OpenLineage.RunEvent.EventType eventType;
+        private final ZonedDateTime eventTime;
+
+        Instance(EventTemplate template, UUID runId, OpenLineage.RunEvent.EventType eventType,
+                 ZonedDateTime eventTime) {
+            this.template = template;
+            this.runId = runId;
+            this.eventType = eventType;
+            this.eventTime = eventTime;
+        }
+
+        void writeTo(PayloadBuffer buffer) {
+            template.writeTo(buffer, runId, eventType, eventTime);
+        }
+
+        OpenLineage.RunEvent.EventType getEventType() {
+            return eventType;
+        }
+
+        String getRunKey() {
+            return runId + "\n" + template.getJobNamespace() + "\n" + template.getJobName();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.ser.std.MapProperty;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.openlineage.client.OpenLineage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trims facets while events are serialized, so dropped or capped content is never encoded at all.
+ * <ul>
+ *   <li>Named facets are left out at run, job and dataset level.</li>
+ *   <li>String values inside facets are truncated to a maximum length. Names and identifiers are never
+ *   touched, outside facets or inside them, such as schema field names and dataset names in column
+ *   lineage.</li>
+ *   <li>Schema fields and column lineage entries are capped at a maximum count per facet.</li>
+ *   <li>With the facet cache, a dataset facet whose content hash matches the one last sent for the same
+ *   dataset is left out, so wide schemas are sent once rather than with every event.</li>
+ * </ul>
+ * Cache updates made while serializing an event are held per thread until they are taken with
+ * {@link #takePending()} and committed once the event has been delivered, so an event that is filtered out
+ * or fails to send does not mark its facets as sent. Where the dataset facets were written is kept as
+ * well, so deduplication can fingerprint an event independent of which facets the cache left out.
+ */
+final class FacetTrimmer extends SimpleBeanPropertyFilter {
+
+    private static final String FILTER_ID = "openlineage-http-insecure-facets";
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // Serialization-scoped attribute keys
+    private static final Object IN_FACET = new Object();
+    private static final Object CURRENT_DATASET = new Object();
+    // Properties inside facets that identify something rather than describe it
+    private static final Set<String> IDENTIFIER_PROPERTIES =
+        new HashSet<>(Arrays.asList("name", "namespace", "field"));
+
+    private final Set<String> dropFacets;
+    private final int maxStringLength;
+    private final int maxSchemaFields;
+    private final LinkedHashMap<String, CachedFacet> facetCache;
+    private final ThreadLocal<Map<String, CachedFacet>> pending = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<CachedContent> cachedContent = ThreadLocal.withInitial(CachedContent::new);
+    private ObjectWriter hashWriter;
+
+    FacetTrimmer(Collection<String> dropFacets, int maxStringLength, int maxSchemaFields,
+                 boolean cacheFacets, int cacheSize) {
+        this.dropFacets = dropFacets != null ? new HashSet<>(dropFacets) : new HashSet<>();
+        this.maxStringLength = maxStringLength;
+        this.maxSchemaFields = maxSchemaFields;
+        if (cacheFacets) {
+            int capacity = Math.max(1, cacheSize);
+            this.facetCache = new LinkedHashMap<String, CachedFacet>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedFacet> eldest) {
+                    return size() > capacity;
+                }
+            };
+        } else {
+            this.facetCache = null;
+        }
+    }
+
+    /**
+     * Routes the mapper's serialization of facets, datasets and schemas through this filter. Writers
+     * must be created from the mapper only after this call.
+     */
+    void install(ObjectMapper objectMapper) {
+        objectMapper.addMixIn(OpenLineage.Dataset.class, Filtered.class);
+        objectMapper.addMixIn(OpenLineage.RunFacets.class, Filtered.class);
+        objectMapper.addMixIn(OpenLineage.JobFacets.class, Filtered.class);
+        objectMapper.addMixIn(OpenLineage.DatasetFacets.class, Filtered.class);
+        objectMapper.addMixIn(OpenLineage.InputDatasetInputFacets.class, Filtered.class);
+        objectMapper.addMixIn(OpenLineage.OutputDatasetOutputFacets.class, Filtered.class);
+        objectMapper.addMixIn(OpenLineage.SchemaDatasetFacet.class, Filtered.class);
+        objectMapper.addMixIn(OpenLineage.SchemaDatasetFacetFields.class, Filtered.class);
+        objectMapper.addMixIn(OpenLineage.ColumnLineageDatasetFacetFields.class, Filtered.class);
+        objectMapper.setFilterProvider(new SimpleFilterProvider().addFilter(FILTER_ID, this));
+        if (maxStringLength > 0) {
+            objectMapper.registerModule(new SimpleModule("openlineage-http-insecure-facets")
+                .addSerializer(String.class, new TruncatingStringSerializer()));
+        }
+        this.hashWriter = objectMapper.writer();
+    }
+
+    /**
+     * Records the dataset facets of the event serialized last on this thread as sent.
+     */
+    void commit() {
+        commit(takePending());
+    }
+
+    /**
+     * Detaches the cache updates of the event serialized last on this thread, or returns null if there are
+     * none. They stay with the event until it is delivered and they are passed to {@link #commit(Pending)}.
+     */
+    Pending takePending() {
+        Map<String, CachedFacet> updates = pending.get();
+        cachedContent.get().clear();
+        if (updates.isEmpty()) {
+            return null;
+        }
+        Pending taken = new Pending(new HashMap<>(updates));
+        updates.clear();
+        return taken;
+    }
+
+    /**
+     * Records the facets of a delivered event as sent. Accepts null for an event without updates.
+     */
+    void commit(Pending updates) {
+        if (updates == null) {
+            return;
+        }
+        synchronized (facetCache) {
+            facetCache.putAll(updates.facets);
+        }
+    }
+
+    /**
+     * Forgets the dataset facets of the event serialized last on this thread, which was not sent.
+     */
+    void discard() {
+        pending.get().clear();
+        cachedContent.get().clear();
+    }
+
+    /**
+     * Returns where the dataset facets of the event serialized last on this thread were written, or null
+     * without the facet cache. Valid until the event's updates are taken or discarded.
+     */
+    CachedContent cachedContent() {
+        return facetCache != null ? cachedContent.get() : null;
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+        throws Exception {
+        String name = writer.getName();
+        if (pojo instanceof OpenLineage.Dataset) {
+            serializeDatasetField((OpenLineage.Dataset) pojo, gen, provider, writer);
+        } else if (pojo instanceof OpenLineage.SchemaDatasetFacet || pojo instanceof OpenLineage.SchemaDatasetFacetFields) {
+            serializeSchemaField(pojo, gen, provider, writer);
+        } else if (pojo instanceof OpenLineage.ColumnLineageDatasetFacetFields) {
+            serializeColumnLineageField(pojo, gen, provider, writer);
+        } else if (!dropFacets.contains(name)) {
+            serializeFacet(pojo, gen, provider, writer);
+        }
+    }
+
+    private void serializeDatasetField(OpenLineage.Dataset dataset, JsonGenerator gen, SerializerProvider provider,
+                                       PropertyWriter writer) throws Exception {
+        if (facetCache == null || !"facets".equals(writer.getName())) {
+            writer.serializeAsField(dataset, gen, provider);
+            return;
+        }
+        provider.setAttribute(CURRENT_DATASET, dataset.getNamespace() + '\n' + dataset.getName());
+        int start = outputPosition(gen);
+        try {
+            writer.serializeAsField(dataset, gen, provider);
+        } finally {
+            provider.setAttribute(CURRENT_DATASET, null);
+        }
+        if (start >= 0) {
+            cachedContent.get().addRange(start, outputPosition(gen));
+        }
+    }
+
+    private void serializeFacet(Object facets, JsonGenerator gen, SerializerProvider provider,
+                                PropertyWriter writer) throws Exception {
+        Object dataset = provider.getAttribute(CURRENT_DATASET);
+        if (dataset != null && facets instanceof OpenLineage.DatasetFacets) {
+            Object facet = valueOf(facets, writer);
+            if (facet != null && isUnchanged(dataset + "\n" + writer.getName(), facet)) {
+                return;
+            }
+        }
+        Object outer = provider.getAttribute(IN_FACET);
+        provider.setAttribute(IN_FACET, Boolean.TRUE);
+        try {
+            writer.serializeAsField(facets, gen, provider);
+        } finally {
+            provider.setAttribute(IN_FACET, outer);
+        }
+    }
+
+    private void serializeSchemaField(Object schema, JsonGenerator gen, SerializerProvider provider,
+                                      PropertyWriter writer) throws Exception {
+        if (maxSchemaFields > 0 && "fields".equals(writer.getName())) {
+            Object fields = valueOf(schema, writer);
+            if (fields instanceof List && ((List<?>) fields).size() > maxSchemaFields) {
+                gen.writeFieldName(writer.getName());
+                provider.defaultSerializeValue(((List<?>) fields).subList(0, maxSchemaFields), gen);
+                return;
+            }
+        }
+        writer.serializeAsField(schema, gen, provider);
+    }
+
+    private void serializeColumnLineageField(Object fields, JsonGenerator gen, SerializerProvider provider,
+                                             PropertyWriter writer) throws Exception {
+        if (maxSchemaFields > 0) {
+            // Columns are written one by one from the any-getter map; count them per facet
+            int[] written = (int[]) provider.getAttribute(fields);
+            if (written == null) {
+                written = new int[1];
+                provider.setAttribute(fields, written);
+            }
+            if (written[0]++ >= maxSchemaFields) {
+                return;
+            }
+        }
+        writer.serializeAsField(fields, gen, provider);
+    }
+
+    private boolean isUnchanged(String key, Object facet) throws IOException {
+        CachedFacet cached;
+        synchronized (facetCache) {
+            cached = facetCache.get(key);
+        }
+        // Integrations that reuse facet instances between events skip hashing entirely
+        if (cached != null && cached.instance.get() == facet) {
+            cachedContent.get().addFacet(key, cached.hash);
+            return true;
+        }
+        HashingOutputStream hash = new HashingOutputStream();
+        hashWriter.writeValue(hash, facet);
+        pending.get().put(key, new CachedFacet(hash.value, facet));
+        cachedContent.get().addFacet(key, hash.value);
+        return cached != null && cached.hash == hash.value;
+    }
+
+    /**
+     * Offset of the next byte the generator writes into the event's buffer, or -1 when it writes elsewhere.
+     */
+    private static int outputPosition(JsonGenerator gen) {
+        Object target = gen.getOutputTarget();
+        if (!(target instanceof ByteArrayOutputStream)) {
+            return -1;
+        }
+        return ((ByteArrayOutputStream) target).size() + gen.getOutputBuffered();
+    }
+
+    private static Object valueOf(Object pojo, PropertyWriter writer) throws Exception {
+        if (writer instanceof BeanPropertyWriter) {
+            return ((BeanPropertyWriter) writer).get(pojo);
+        }
+        if (writer instanceof MapProperty) {
+            return ((MapProperty) writer).getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Facet cache updates of one serialized event, not yet committed.
+     */
+    static final class Pending {
+        private final Map<String, CachedFacet> facets;
+
+        private Pending(Map<String, CachedFacet> facets) {
+            this.facets = facets;
+        }
+    }
+
+    /**
+     * Byte ranges of one serialized event that hold dataset facets, and a hash of the content of those
+     * facets including the ones the cache left out. Two events that differ only in which facets the cache
+     * left out have the same bytes outside these ranges and the same hash.
+     */
+    static final class CachedContent {
+        // Start and end offsets, one pair per dataset
+        private int[] ranges = new int[16];
+        private int size;
+        private long hash = FNV_OFFSET_BASIS;
+
+        int getRangeCount() {
+            return size / 2;
+        }
+
+        int getRangeStart(int range) {
+            return ranges[range * 2];
+        }
+
+        int getRangeEnd(int range) {
+            return ranges[range * 2 + 1];
+        }
+
+        long getHash() {
+            return hash;
+        }
+
+        private void addRange(int start, int end) {
+            if (size + 2 > ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            }
+            ranges[size++] = start;
+            ranges[size++] = end;
+        }
+
+        private void addFacet(String key, long facetHash) {
+            hash = (hash ^ key.hashCode()) * FNV_PRIME;
+            hash = (hash ^ facetHash) * FNV_PRIME;
+        }
+
+        private void clear() {
+            size = 0;
+            hash = FNV_OFFSET_BASIS;
+        }
+    }
+
+    @JsonFilter(FILTER_ID)
+    private abstract static class Filtered {
+    }
+
+    private static final class CachedFacet {
+        private final long hash;
+        private final WeakReference<Object> instance;
+
+        private CachedFacet(long hash, Object instance) {
+            this.hash = hash;
+            this.instance = new WeakReference<>(instance);
+        }
+    }
+
+    /**
+     * FNV-1a over everything written, so a facet is hashed without materializing its JSON.
+     */
+    private static final class HashingOutputStream extends OutputStream {
+        private long value = FNV_OFFSET_BASIS;
+
+        @Override
+        public void write(int b) {
+            value = (value ^ (b & 0xff)) * FNV_PRIME;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            long hash = value;
+            for (int i = offset; i < offset + length; i++) {
+                hash = (hash ^ (bytes[i] & 0xff)) * FNV_PRIME;
+            }
+            value = hash;
+        }
+    }
+
+    private final class TruncatingStringSerializer extends StdSerializer<String> {
+
+        private TruncatingStringSerializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (value.length() <= maxStringLength || provider.getAttribute(IN_FACET) == null
+                || IDENTIFIER_PROPERTIES.contains(gen.getOutputContext().getCurrentName())) {
+                gen.writeString(value);
+                return;
+            }
+            int end = maxStringLength;
+            // Never split a surrogate pair
+            if (Character.isHighSurrogate(value.charAt(end - 1))) {
+                end--;
+            }
+            gen.writeString(value.substring(0, end));
+        }
+    }
+}
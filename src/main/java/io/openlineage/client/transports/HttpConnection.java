@@ -0,0 +1,231 @@
+package io.openlineage.client.transports;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A persistent HTTP/1.1 connection that can carry many request/response exchanges.
+ * Not thread-safe; the pool hands each connection to one thread at a time.
+ */
+final class HttpConnection {
+
+    private static final byte[] CONTENT_LENGTH = "Content-Length: ".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final long createdNanos;
+    private long lastUsedNanos;
+    private int exchanges;
+    private boolean reusable = true;
+    private boolean statusReceived;
+    private boolean warmed;
+
+    HttpConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new BufferedInputStream(socket.getInputStream(), 8192);
+        this.out = new BufferedOutputStream(socket.getOutputStream(), 8192);
+        this.createdNanos = System.nanoTime();
+        this.lastUsedNanos = createdNanos;
+    }
+
+    /**
+     * Writes one request and reads its response. The head must contain the request line and all
+     * headers except Content-Length, each terminated by CRLF.
+     */
+    HttpResponse exchange(byte[] head, byte[] body, int offset, int length, int readTimeoutMillis) throws IOException {
+        exchanges++;
+        statusReceived = false;
+        socket.setSoTimeout(readTimeoutMillis);
+
+        long start = System.nanoTime();
+        out.write(head);
+        out.write(CONTENT_LENGTH);
+        out.write(Integer.toString(length).getBytes(StandardCharsets.ISO_8859_1));
+        out.write(CRLF);
+        out.write(CRLF);
+        out.write(body, offset, length);
+        out.flush();
+        StageTrace.record(StageTrace.Stage.WRITE, start);
+
+        start = System.nanoTime();
+        HttpResponse response = readResponse();
+        StageTrace.record(StageTrace.Stage.RESPONSE, start);
+        return response;
+    }
+
+    boolean isReused() {
+        return exchanges > 1 || warmed;
+    }
+
+    /**
+     * Marks a connection opened ahead of use, which waits in the pool like one that has been used.
+     */
+    void markWarmed() {
+        warmed = true;
+    }
+
+    /**
+     * True if the last exchange failed before the server sent a status line, meaning a request on a
+     * reused connection most likely hit a connection the server had already closed.
+     */
+    boolean isStale() {
+        return isReused() && !statusReceived;
+    }
+
+    boolean isReusable() {
+        return reusable && !socket.isClosed();
+    }
+
+    long getCreatedNanos() {
+        return createdNanos;
+    }
+
+    long getLastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    void markUsed(long nowNanos) {
+        lastUsedNanos = nowNanos;
+    }
+
+    void close() {
+        reusable = false;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing useful to do, the connection is being discarded anyway
+        }
+    }
+
+    private HttpResponse readResponse() throws IOException {
+        while (true) {
+            String statusLine = readLine();
+            statusReceived = true;
+            int statusCode = parseStatusCode(statusLine);
+            Map<String, String> headers = readHeaders();
+
+            // Interim responses (100 Continue, 103 Early Hints) are followed by the real one
+            if (statusCode >= 100 && statusCode < 200) {
+                continue;
+            }
+
+            String connectionHeader = headers.get("connection");
+            if (statusLine.startsWith("HTTP/1.0")) {
+                reusable = connectionHeader != null && connectionHeader.equalsIgnoreCase("keep-alive");
+            } else if (connectionHeader != null && connectionHeader.equalsIgnoreCase("close")) {
+                reusable = false;
+            }
+
+            discardBody(statusCode, headers);
+            return new HttpResponse(statusCode, headers);
+        }
+    }
+
+    private void discardBody(int statusCode, Map<String, String> headers) throws IOException {
+        if (statusCode == 204 || statusCode == 304) {
+            return;
+        }
+        String transferEncoding = headers.get("transfer-encoding");
+        String contentLength = headers.get("content-length");
+        if (transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+            while (true) {
+                String sizeLine = readLine();
+                int extension = sizeLine.indexOf(';');
+                long size = parseLength(extension >= 0 ? sizeLine.substring(0, extension) : sizeLine, 16,
+                    "Malformed chunk size: ");
+                if (size == 0) {
+                    readHeaders(); // trailers
+                    return;
+                }
+                skipFully(size);
+                readLine();
+            }
+        } else if (contentLength != null) {
+            skipFully(parseLength(contentLength, 10, "Malformed Content-Length: "));
+        } else {
+            // No framing information, the body runs until the server closes the connection
+            reusable = false;
+            byte[] scratch = new byte[1024];
+            while (in.read(scratch) != -1) {
+                // discard
+            }
+        }
+    }
+
+    private Map<String, String> readHeaders() throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        return headers;
+    }
+
+    private static int parseStatusCode(String statusLine) throws IOException {
+        // HTTP/1.1 200 OK
+        int firstSpace = statusLine.indexOf(' ');
+        if (!statusLine.startsWith("HTTP/") || firstSpace < 0 || statusLine.length() < firstSpace + 4) {
+            throw new IOException("Malformed HTTP status line: " + statusLine);
+        }
+        try {
+            return Integer.parseInt(statusLine.substring(firstSpace + 1, firstSpace + 4));
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed HTTP status line: " + statusLine, e);
+        }
+    }
+
+    private static long parseLength(String value, int radix, String error) throws IOException {
+        long length;
+        try {
+            length = Long.parseLong(value.trim(), radix);
+        } catch (NumberFormatException e) {
+            throw new IOException(error + value, e);
+        }
+        if (length < 0) {
+            throw new IOException(error + value);
+        }
+        return length;
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new EOFException("Connection closed by server");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private void skipFully(long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    throw new EOFException("Connection closed before the response body was complete");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+}
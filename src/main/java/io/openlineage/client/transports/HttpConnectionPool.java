@@ -0,0 +1,342 @@
+package io.openlineage.client.transports;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of persistent HTTP/1.1 connections to a single endpoint.
+ * Connections are reused most-recently-used first, and evicted once idle or older than their
+ * maximum lifetime. HTTPS connections are created from the given socket factory so the TLS
+ * handshake is paid once per connection rather than once per event. The endpoint's address can be
+ * cached for a fixed time, independent of the JVM-wide DNS cache settings.
+ */
+final class HttpConnectionPool implements HttpSender {
+
+    private final String host;
+    private final int port;
+    private final SSLSocketFactory sslSocketFactory;
+    private final byte[] requestHead;
+    private final byte[] compressedRequestHead;
+    private final RequestCompressor compressor;
+    private final int maxConnections;
+    private final long idleTimeoutNanos;
+    private final long maxLifetimeNanos;
+    private final long dnsCacheTtlNanos;
+    private volatile ResolvedAddress resolved;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<HttpConnection> idle = new ArrayDeque<>();
+    private int total;
+    private boolean closed;
+
+    HttpConnectionPool(URI url, Map<String, String> headers, SSLSocketFactory sslSocketFactory,
+                       int maxConnections, Duration idleTimeout, Duration maxLifetime) {
+        this(url, "application/json", headers, null, sslSocketFactory, maxConnections, idleTimeout, maxLifetime);
+    }
+
+    HttpConnectionPool(URI url, String contentType, Map<String, String> headers, RequestCompressor compressor,
+                       SSLSocketFactory sslSocketFactory, int maxConnections, Duration idleTimeout, Duration maxLifetime) {
+        this(url, contentType, headers, compressor, sslSocketFactory, maxConnections, idleTimeout, maxLifetime,
+            Duration.ZERO);
+    }
+
+    HttpConnectionPool(URI url, String contentType, Map<String, String> headers, RequestCompressor compressor,
+                       SSLSocketFactory sslSocketFactory, int maxConnections, Duration idleTimeout, Duration maxLifetime,
+                       Duration dnsCacheTtl) {
+        String scheme = url.getScheme() == null ? "" : url.getScheme().toLowerCase(java.util.Locale.ROOT);
+        if (!scheme.equals("http") && !scheme.equals("https")) {
+            throw new IllegalArgumentException("Unsupported URL scheme, expected http or https: " + url);
+        }
+        boolean secure = scheme.equals("https");
+        this.host = url.getHost();
+        this.port = url.getPort() != -1 ? url.getPort() : (secure ? 443 : 80);
+        this.sslSocketFactory = secure ? sslSocketFactory : null;
+        this.requestHead = buildRequestHead(url, contentType, null, headers, secure);
+        this.compressedRequestHead = compressor != null
+            ? buildRequestHead(url, contentType, compressor.getContentEncoding(), headers, secure)
+            : null;
+        this.compressor = compressor;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxLifetimeNanos = maxLifetime.toNanos();
+        this.dnsCacheTtlNanos = dnsCacheTtl.toNanos();
+    }
+
+    /**
+     * POSTs the body over a pooled connection. A request that fails on a reused connection before
+     * any response arrives is retried once on a new connection, since the server has most likely
+     * closed the idle connection on its side.
+     */
+    @Override
+    public HttpResponse post(byte[] body, int offset, int length, int timeoutMillis) throws IOException {
+        byte[] head = requestHead;
+        if (compressor != null && compressor.shouldCompress(length)) {
+            PayloadBuffer compressed = compressor.compress(body, offset, length);
+            head = compressedRequestHead;
+            body = compressed.array();
+            offset = 0;
+            length = compressed.size();
+        }
+        HttpConnection connection = acquire(timeoutMillis);
+        try {
+            HttpResponse response = connection.exchange(head, body, offset, length, timeoutMillis);
+            release(connection);
+            return response;
+        } catch (IOException e) {
+            boolean stale = connection.isStale();
+            discard(connection);
+            if (!stale) {
+                throw e;
+            }
+        }
+        HttpConnection fresh = acquireNew(timeoutMillis);
+        try {
+            HttpResponse response = fresh.exchange(head, body, offset, length, timeoutMillis);
+            release(fresh);
+            return response;
+        } catch (IOException e) {
+            discard(fresh);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens connections one after another until the pool holds the given number, capped at its maximum.
+     * Connections opened for requests in the meantime count towards the number.
+     */
+    @Override
+    public void prewarm(int connections, int timeoutMillis) throws IOException {
+        int target = Math.min(connections, maxConnections);
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || total >= target) {
+                    return;
+                }
+                total++;
+            } finally {
+                lock.unlock();
+            }
+            HttpConnection connection = connectReserved(timeoutMillis);
+            connection.markWarmed();
+            release(connection);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            for (HttpConnection connection : idle) {
+                connection.close();
+                total--;
+            }
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private HttpConnection acquire(int timeoutMillis) throws IOException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new IOException("Connection pool is closed");
+                }
+                long now = System.nanoTime();
+                evictExpired(now);
+                HttpConnection connection = idle.pollFirst();
+                if (connection != null) {
+                    return connection;
+                }
+                if (total < maxConnections) {
+                    total++;
+                    break;
+                }
+                if (remaining <= 0) {
+                    throw new IOException("Timed out waiting for a pooled connection to " + host + ":" + port);
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a pooled connection", e);
+        } finally {
+            lock.unlock();
+        }
+        return connectReserved(timeoutMillis);
+    }
+
+    private HttpConnection acquireNew(int timeoutMillis) throws IOException {
+        lock.lock();
+        try {
+            // Any other idle connection is as likely to be stale as the one that just failed
+            for (HttpConnection connection : idle) {
+                connection.close();
+                total--;
+            }
+            idle.clear();
+            total++;
+        } finally {
+            lock.unlock();
+        }
+        return connectReserved(timeoutMillis);
+    }
+
+    private HttpConnection connectReserved(int timeoutMillis) throws IOException {
+        try {
+            return connect(timeoutMillis);
+        } catch (IOException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private HttpConnection connect(int timeoutMillis) throws IOException {
+        long start = System.nanoTime();
+        InetSocketAddress address = resolve(start);
+        StageTrace.record(StageTrace.Stage.DNS, start);
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            start = System.nanoTime();
+            try {
+                socket.connect(address, timeoutMillis);
+            } catch (IOException e) {
+                // The endpoint may have moved; look it up again next time rather than retrying a dead address
+                resolved = null;
+                throw e;
+            }
+            StageTrace.record(StageTrace.Stage.CONNECT, start);
+            if (sslSocketFactory != null) {
+                start = System.nanoTime();
+                SSLSocket sslSocket = (SSLSocket) sslSocketFactory.createSocket(socket, host, port, true);
+                sslSocket.setSoTimeout(timeoutMillis);
+                sslSocket.startHandshake();
+                socket = sslSocket;
+                StageTrace.record(StageTrace.Stage.TLS, start);
+            }
+            return new HttpConnection(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    private InetSocketAddress resolve(long now) {
+        ResolvedAddress cached = resolved;
+        if (cached != null && now - cached.expiresNanos < 0) {
+            return cached.address;
+        }
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (dnsCacheTtlNanos > 0 && !address.isUnresolved()) {
+            resolved = new ResolvedAddress(address, now + dnsCacheTtlNanos);
+        }
+        return address;
+    }
+
+    private void release(HttpConnection connection) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (closed || !connection.isReusable() || now - connection.getCreatedNanos() >= maxLifetimeNanos) {
+                connection.close();
+                total--;
+            } else {
+                connection.markUsed(now);
+                idle.addFirst(connection);
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(HttpConnection connection) {
+        connection.close();
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictExpired(long now) {
+        idle.removeIf(connection -> {
+            if (now - connection.getLastUsedNanos() >= idleTimeoutNanos
+                || now - connection.getCreatedNanos() >= maxLifetimeNanos) {
+                connection.close();
+                total--;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static byte[] buildRequestHead(URI url, String contentType, String contentEncoding,
+                                           Map<String, String> headers, boolean secure) {
+        String path = url.getRawPath() == null || url.getRawPath().isEmpty() ? "/" : url.getRawPath();
+        if (url.getRawQuery() != null) {
+            path += "?" + url.getRawQuery();
+        }
+        boolean defaultPort = url.getPort() == -1 || url.getPort() == (secure ? 443 : 80);
+        String hostHeader = url.getHost();
+
+        // Configured headers override the defaults, matching HttpURLConnection.setRequestProperty
+        Map<String, String> allHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        allHeaders.put("Host", defaultPort ? hostHeader : hostHeader + ":" + url.getPort());
+        allHeaders.put("Content-Type", contentType);
+        allHeaders.put("User-Agent", "openlineage-transport-http-insecure");
+        if (headers != null) {
+            allHeaders.putAll(headers);
+        }
+        allHeaders.remove("Content-Length");
+        if (contentEncoding != null) {
+            allHeaders.put("Content-Encoding", contentEncoding);
+        }
+
+        StringBuilder head = new StringBuilder(256);
+        head.append("POST ").append(path).append(" HTTP/1.1\r\n");
+        for (Map.Entry<String, String> header : allHeaders.entrySet()) {
+            head.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+        }
+        return head.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static final class ResolvedAddress {
+        private final InetSocketAddress address;
+        private final long expiresNanos;
+
+        private ResolvedAddress(InetSocketAddress address, long expiresNanos) {
+            this.address = address;
+            this.expiresNanos = expiresNanos;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.openlineage.client.transports;
+
+import java.util.Map;
+
+/**
+ * Status line and headers of a response read from a pooled connection. The body is discarded.
+ */
+final class HttpResponse {
+
+    private final int statusCode;
+    private final Map<String, String> headers;
+
+    HttpResponse(int statusCode, Map<String, String> headers) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * Returns the value of the named header, matched case-insensitively, or null if absent.
+     */
+    String getHeader(String name) {
+        return headers.get(name.toLowerCase(java.util.Locale.ROOT));
+    }
+}
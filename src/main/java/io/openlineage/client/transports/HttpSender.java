@@ -0,0 +1,22 @@
+package io.openlineage.client.transports;
+
+import java.io.IOException;
+
+/**
+ * Sends POST requests to a single endpoint. Implementations own their connections and are safe for
+ * concurrent use.
+ */
+interface HttpSender extends AutoCloseable {
+
+    HttpResponse post(byte[] body, int offset, int length, int timeoutMillis) throws IOException;
+
+    /**
+     * Opens up to the given number of connections ahead of the first request, so that request does not
+     * pay for DNS resolution, connecting and the TLS handshake. Does nothing by default.
+     */
+    default void prewarm(int connections, int timeoutMillis) throws IOException {
+    }
+
+    @Override
+    void close();
+}
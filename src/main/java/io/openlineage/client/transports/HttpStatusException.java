@@ -0,0 +1,20 @@
+package io.openlineage.client.transports;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the endpoint answers with a non-2xx status.
+ */
+final class HttpStatusException extends IOException {
+
+    private final int statusCode;
+
+    HttpStatusException(String message, int statusCode) {
+        super(message + statusCode);
+        this.statusCode = statusCode;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+}
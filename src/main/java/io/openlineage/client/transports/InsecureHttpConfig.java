@@ -1,13 +1,205 @@
 package io.openlineage.client.transports;
 
 import java.net.URI;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-public class InsecureHttpConfig implements TransportConfig {
+public class InsecureHttpConfig implements TransportConfig, Cloneable {
+
+    /**
+     * What an asynchronous transport does with a new event when its queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Block the emitting thread until the queue has room. */
+        BLOCK,
+        /** Evict the oldest queued event to make room for the new one. */
+        DROP_OLDEST,
+        /** Discard the new event and keep the queue as it is. */
+        DROP_NEWEST
+    }
+
+    /**
+     * Body layout of batch requests.
+     */
+    public enum BatchFormat {
+        /** A single JSON array of events. */
+        JSON_ARRAY,
+        /** One event per line (newline-delimited JSON). */
+        NDJSON
+    }
+
+    /**
+     * Request body compression.
+     */
+    public enum Compression {
+        NONE,
+        GZIP,
+        /** Zstandard; requires zstd-jni on the classpath, falls back to gzip otherwise. */
+        ZSTD
+    }
+
+    /**
+     * What happens to an event while the circuit breaker is open.
+     */
+    public enum CircuitBreakerFallback {
+        /** Throw immediately instead of waiting for the endpoint to time out. */
+        FAIL,
+        /** Discard the event. */
+        DROP,
+        /** Write the event to the spool to be replayed once the endpoint recovers; requires spoolDirectory. */
+        SPOOL
+    }
+
+    /**
+     * HTTP implementation used to send requests.
+     */
+    public enum Engine {
+        /** Built-in HTTP/1.1 client over pooled persistent sockets; works on every Java version. */
+        SOCKET,
+        /** java.net.http.HttpClient with HTTP/2 multiplexing; requires Java 11, falls back to SOCKET otherwise. */
+        HTTP_CLIENT
+    }
+
+    /**
+     * Where sampled stage traces go.
+     */
+    public enum TraceOutput {
+        /** One key=value line per trace, logged at INFO. */
+        LOG,
+        /** io.openlineage.EmitTrace JFR events; requires Java 11, falls back to LOG otherwise. */
+        JFR
+    }
+
+    /**
+     * How requests are spread over collector replicas.
+     */
+    public enum LoadBalancing {
+        /** Each request goes to the next healthy replica in turn. */
+        ROUND_ROBIN,
+        /** Each request goes to the healthy replica with the fewest requests in flight. */
+        LEAST_OUTSTANDING
+    }
+
+    /**
+     * When spooled records are forced from the page cache to disk.
+     */
+    public enum SpoolFsync {
+        /** Only when a segment is full and on close; survives a process crash, not a power loss. */
+        NEVER,
+        /** At most once per spoolFsyncInterval while records are appended, and when a segment is full. */
+        INTERVAL,
+        /** After every record; survives a power loss at the cost of a disk flush per spooled event. */
+        ALWAYS
+    }
+
+    /**
+     * An additional collector that receives every event. Headers are layered over the shared ones and
+     * the timeout, if set, replaces the shared one; all other settings are shared.
+     */
+    public static class Endpoint {
+        private URI url;
+        private Map<String, String> headers;
+        private Duration timeout;
+
+        public URI getUrl() {
+            return url;
+        }
+
+        public void setUrl(URI url) {
+            this.url = url;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
     private URI url;
     private Duration timeout;
     private Map<String, String> headers;
+    private Boolean async;
+    private Integer queueCapacity;
+    private Integer senderThreads;
+    private Boolean virtualThreads;
+    private OverflowPolicy overflowPolicy;
+    private Duration closeTimeout;
+    private Integer maxConnections;
+    private Duration connectionIdleTimeout;
+    private Duration connectionMaxLifetime;
+    private Boolean batch;
+    private URI batchUrl;
+    private Integer batchMaxEvents;
+    private Long batchMaxBytes;
+    private Duration batchLinger;
+    private BatchFormat batchFormat;
+    private Compression compression;
+    private Integer compressionThreshold;
+    private Integer maxRetries;
+    private Duration retryInitialBackoff;
+    private Duration retryMaxBackoff;
+    private Double retryBudgetRatio;
+    private Boolean circuitBreaker;
+    private Double circuitBreakerFailureRateThreshold;
+    private Double circuitBreakerSlowCallRateThreshold;
+    private Duration circuitBreakerSlowCallDuration;
+    private Integer circuitBreakerWindowSize;
+    private Integer circuitBreakerMinimumCalls;
+    private Duration circuitBreakerOpenDuration;
+    private Integer circuitBreakerHalfOpenProbes;
+    private CircuitBreakerFallback circuitBreakerFallback;
+    private String spoolDirectory;
+    private Long spoolSegmentSize;
+    private Long spoolMaxBytes;
+    private Duration spoolReplayInterval;
+    private SpoolFsync spoolFsync;
+    private Duration spoolFsyncInterval;
+    private Engine engine;
+    private Boolean metrics;
+    private Boolean metricsJmx;
+    private Boolean metricsMicrometer;
+    private Double traceSampleRate;
+    private TraceOutput traceOutput;
+    private Map<String, Double> eventSampleRates;
+    private Boolean dedup;
+    private Integer dedupCacheSize;
+    private Duration coalesceWindow;
+    private List<String> dropFacets;
+    private Integer maxFacetStringLength;
+    private Integer maxSchemaFields;
+    private Boolean facetCache;
+    private Integer facetCacheSize;
+    private List<Endpoint> endpoints;
+    private List<URI> replicaUrls;
+    private LoadBalancing loadBalancing;
+    private Integer replicaEjectionFailures;
+    private Duration replicaEjectionLatency;
+    private Duration replicaEjectionDuration;
+    private Boolean adaptiveConcurrency;
+    private Integer concurrencyInitialLimit;
+    private Integer concurrencyMinLimit;
+    private Integer concurrencyMaxLimit;
+    private Duration concurrencyLatencyThreshold;
+    private Double rateLimitRequestsPerSecond;
+    private Long rateLimitBytesPerSecond;
+    private Duration rateLimitBurst;
+    private Duration rateLimitMaxWait;
+    private Integer prewarmConnections;
+    private Duration dnsCacheTtl;
     
     public URI getUrl() {
         return url;
@@ -36,4 +228,608 @@ public class InsecureHttpConfig implements TransportConfig {
     public Integer getTimeoutInMillis() {
         return timeout != null ? (int) timeout.toMillis() : 5000; // Default 5 seconds
     }
+
+    public Boolean getAsync() {
+        return async != null ? async : false;
+    }
+
+    public void setAsync(Boolean async) {
+        this.async = async;
+    }
+
+    public Integer getQueueCapacity() {
+        return queueCapacity != null ? queueCapacity : 10000;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Integer getSenderThreads() {
+        return senderThreads != null ? senderThreads : 1;
+    }
+
+    public void setSenderThreads(Integer senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public Boolean getVirtualThreads() {
+        return virtualThreads != null ? virtualThreads : false;
+    }
+
+    public void setVirtualThreads(Boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy != null ? overflowPolicy : OverflowPolicy.BLOCK;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public Duration getCloseTimeout() {
+        return closeTimeout != null ? closeTimeout : Duration.ofSeconds(30);
+    }
+
+    public void setCloseTimeout(Duration closeTimeout) {
+        this.closeTimeout = closeTimeout;
+    }
+
+    public Integer getMaxConnections() {
+        return maxConnections != null ? maxConnections : 5;
+    }
+
+    public void setMaxConnections(Integer maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public Duration getConnectionIdleTimeout() {
+        return connectionIdleTimeout != null ? connectionIdleTimeout : Duration.ofSeconds(30);
+    }
+
+    public void setConnectionIdleTimeout(Duration connectionIdleTimeout) {
+        this.connectionIdleTimeout = connectionIdleTimeout;
+    }
+
+    public Duration getConnectionMaxLifetime() {
+        return connectionMaxLifetime != null ? connectionMaxLifetime : Duration.ofMinutes(5);
+    }
+
+    public void setConnectionMaxLifetime(Duration connectionMaxLifetime) {
+        this.connectionMaxLifetime = connectionMaxLifetime;
+    }
+
+    public Boolean getBatch() {
+        return batch != null ? batch : false;
+    }
+
+    public void setBatch(Boolean batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Returns the batch endpoint, defaulting to the event url with {@code /batch} appended.
+     */
+    public URI getBatchUrl() {
+        return getBatchUrl(url);
+    }
+
+    /**
+     * Returns the batch endpoint for one event url, which is the configured batchUrl if there is one.
+     */
+    URI getBatchUrl(URI eventUrl) {
+        if (batchUrl != null || eventUrl == null) {
+            return batchUrl;
+        }
+        String path = eventUrl.getPath() == null ? "" : eventUrl.getPath();
+        return eventUrl.resolve((path.endsWith("/") ? path : path + "/") + "batch");
+    }
+
+    public void setBatchUrl(URI batchUrl) {
+        this.batchUrl = batchUrl;
+    }
+
+    public Integer getBatchMaxEvents() {
+        return batchMaxEvents != null ? batchMaxEvents : 100;
+    }
+
+    public void setBatchMaxEvents(Integer batchMaxEvents) {
+        this.batchMaxEvents = batchMaxEvents;
+    }
+
+    public Long getBatchMaxBytes() {
+        return batchMaxBytes != null ? batchMaxBytes : 1024 * 1024L; // Default 1 MiB
+    }
+
+    public void setBatchMaxBytes(Long batchMaxBytes) {
+        this.batchMaxBytes = batchMaxBytes;
+    }
+
+    public Duration getBatchLinger() {
+        return batchLinger != null ? batchLinger : Duration.ofSeconds(1);
+    }
+
+    public void setBatchLinger(Duration batchLinger) {
+        this.batchLinger = batchLinger;
+    }
+
+    public BatchFormat getBatchFormat() {
+        return batchFormat != null ? batchFormat : BatchFormat.JSON_ARRAY;
+    }
+
+    public void setBatchFormat(BatchFormat batchFormat) {
+        this.batchFormat = batchFormat;
+    }
+
+    public Compression getCompression() {
+        return compression != null ? compression : Compression.NONE;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    public Integer getCompressionThreshold() {
+        return compressionThreshold != null ? compressionThreshold : 1024; // Default 1 KiB
+    }
+
+    public void setCompressionThreshold(Integer compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public Integer getMaxRetries() {
+        return maxRetries != null ? maxRetries : 0;
+    }
+
+    public void setMaxRetries(Integer maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public Duration getRetryInitialBackoff() {
+        return retryInitialBackoff != null ? retryInitialBackoff : Duration.ofMillis(100);
+    }
+
+    public void setRetryInitialBackoff(Duration retryInitialBackoff) {
+        this.retryInitialBackoff = retryInitialBackoff;
+    }
+
+    public Duration getRetryMaxBackoff() {
+        return retryMaxBackoff != null ? retryMaxBackoff : Duration.ofSeconds(10);
+    }
+
+    public void setRetryMaxBackoff(Duration retryMaxBackoff) {
+        this.retryMaxBackoff = retryMaxBackoff;
+    }
+
+    /**
+     * Retries allowed per first attempt, averaged over time; 0.2 caps retries at 20% extra load.
+     */
+    public Double getRetryBudgetRatio() {
+        return retryBudgetRatio != null ? retryBudgetRatio : 0.2;
+    }
+
+    public void setRetryBudgetRatio(Double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public Boolean getCircuitBreaker() {
+        return circuitBreaker != null ? circuitBreaker : false;
+    }
+
+    public void setCircuitBreaker(Boolean circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Double getCircuitBreakerFailureRateThreshold() {
+        return circuitBreakerFailureRateThreshold != null ? circuitBreakerFailureRateThreshold : 0.5;
+    }
+
+    public void setCircuitBreakerFailureRateThreshold(Double circuitBreakerFailureRateThreshold) {
+        this.circuitBreakerFailureRateThreshold = circuitBreakerFailureRateThreshold;
+    }
+
+    public Double getCircuitBreakerSlowCallRateThreshold() {
+        return circuitBreakerSlowCallRateThreshold != null ? circuitBreakerSlowCallRateThreshold : 1.0;
+    }
+
+    public void setCircuitBreakerSlowCallRateThreshold(Double circuitBreakerSlowCallRateThreshold) {
+        this.circuitBreakerSlowCallRateThreshold = circuitBreakerSlowCallRateThreshold;
+    }
+
+    public Duration getCircuitBreakerSlowCallDuration() {
+        return circuitBreakerSlowCallDuration != null ? circuitBreakerSlowCallDuration : Duration.ofSeconds(2);
+    }
+
+    public void setCircuitBreakerSlowCallDuration(Duration circuitBreakerSlowCallDuration) {
+        this.circuitBreakerSlowCallDuration = circuitBreakerSlowCallDuration;
+    }
+
+    public Integer getCircuitBreakerWindowSize() {
+        return circuitBreakerWindowSize != null ? circuitBreakerWindowSize : 20;
+    }
+
+    public void setCircuitBreakerWindowSize(Integer circuitBreakerWindowSize) {
+        this.circuitBreakerWindowSize = circuitBreakerWindowSize;
+    }
+
+    public Integer getCircuitBreakerMinimumCalls() {
+        return circuitBreakerMinimumCalls != null ? circuitBreakerMinimumCalls : 5;
+    }
+
+    public void setCircuitBreakerMinimumCalls(Integer circuitBreakerMinimumCalls) {
+        this.circuitBreakerMinimumCalls = circuitBreakerMinimumCalls;
+    }
+
+    public Duration getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration != null ? circuitBreakerOpenDuration : Duration.ofSeconds(30);
+    }
+
+    public void setCircuitBreakerOpenDuration(Duration circuitBreakerOpenDuration) {
+        this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+    }
+
+    public Integer getCircuitBreakerHalfOpenProbes() {
+        return circuitBreakerHalfOpenProbes != null ? circuitBreakerHalfOpenProbes : 1;
+    }
+
+    public void setCircuitBreakerHalfOpenProbes(Integer circuitBreakerHalfOpenProbes) {
+        this.circuitBreakerHalfOpenProbes = circuitBreakerHalfOpenProbes;
+    }
+
+    public CircuitBreakerFallback getCircuitBreakerFallback() {
+        return circuitBreakerFallback != null ? circuitBreakerFallback : CircuitBreakerFallback.FAIL;
+    }
+
+    public void setCircuitBreakerFallback(CircuitBreakerFallback circuitBreakerFallback) {
+        this.circuitBreakerFallback = circuitBreakerFallback;
+    }
+
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void setSpoolDirectory(String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public Long getSpoolSegmentSize() {
+        return spoolSegmentSize != null ? spoolSegmentSize : 16L * 1024 * 1024;
+    }
+
+    public void setSpoolSegmentSize(Long spoolSegmentSize) {
+        this.spoolSegmentSize = spoolSegmentSize;
+    }
+
+    public Long getSpoolMaxBytes() {
+        return spoolMaxBytes != null ? spoolMaxBytes : 256L * 1024 * 1024;
+    }
+
+    public void setSpoolMaxBytes(Long spoolMaxBytes) {
+        this.spoolMaxBytes = spoolMaxBytes;
+    }
+
+    public Duration getSpoolReplayInterval() {
+        return spoolReplayInterval != null ? spoolReplayInterval : Duration.ofSeconds(5);
+    }
+
+    public void setSpoolReplayInterval(Duration spoolReplayInterval) {
+        this.spoolReplayInterval = spoolReplayInterval;
+    }
+
+    public SpoolFsync getSpoolFsync() {
+        return spoolFsync != null ? spoolFsync : SpoolFsync.INTERVAL;
+    }
+
+    public void setSpoolFsync(SpoolFsync spoolFsync) {
+        this.spoolFsync = spoolFsync;
+    }
+
+    public Duration getSpoolFsyncInterval() {
+        return spoolFsyncInterval != null ? spoolFsyncInterval : Duration.ofSeconds(1);
+    }
+
+    public void setSpoolFsyncInterval(Duration spoolFsyncInterval) {
+        this.spoolFsyncInterval = spoolFsyncInterval;
+    }
+
+    public Engine getEngine() {
+        return engine != null ? engine : Engine.SOCKET;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    public Boolean getMetrics() {
+        return metrics != null ? metrics : false;
+    }
+
+    public void setMetrics(Boolean metrics) {
+        this.metrics = metrics;
+    }
+
+    public Boolean getMetricsJmx() {
+        return metricsJmx != null ? metricsJmx : true;
+    }
+
+    public void setMetricsJmx(Boolean metricsJmx) {
+        this.metricsJmx = metricsJmx;
+    }
+
+    public Boolean getMetricsMicrometer() {
+        return metricsMicrometer != null ? metricsMicrometer : false;
+    }
+
+    public void setMetricsMicrometer(Boolean metricsMicrometer) {
+        this.metricsMicrometer = metricsMicrometer;
+    }
+
+    public Double getTraceSampleRate() {
+        return traceSampleRate != null ? traceSampleRate : 0.0;
+    }
+
+    public void setTraceSampleRate(Double traceSampleRate) {
+        this.traceSampleRate = traceSampleRate;
+    }
+
+    public TraceOutput getTraceOutput() {
+        return traceOutput != null ? traceOutput : TraceOutput.LOG;
+    }
+
+    public void setTraceOutput(TraceOutput traceOutput) {
+        this.traceOutput = traceOutput;
+    }
+
+    public Map<String, Double> getEventSampleRates() {
+        return eventSampleRates;
+    }
+
+    public void setEventSampleRates(Map<String, Double> eventSampleRates) {
+        this.eventSampleRates = eventSampleRates;
+    }
+
+    public Boolean getDedup() {
+        return dedup != null ? dedup : false;
+    }
+
+    public void setDedup(Boolean dedup) {
+        this.dedup = dedup;
+    }
+
+    public Integer getDedupCacheSize() {
+        return dedupCacheSize != null ? dedupCacheSize : 10000;
+    }
+
+    public void setDedupCacheSize(Integer dedupCacheSize) {
+        this.dedupCacheSize = dedupCacheSize;
+    }
+
+    public Duration getCoalesceWindow() {
+        return coalesceWindow != null ? coalesceWindow : Duration.ZERO;
+    }
+
+    public void setCoalesceWindow(Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    public List<String> getDropFacets() {
+        return dropFacets;
+    }
+
+    public void setDropFacets(List<String> dropFacets) {
+        this.dropFacets = dropFacets;
+    }
+
+    public Integer getMaxFacetStringLength() {
+        return maxFacetStringLength != null ? maxFacetStringLength : 0;
+    }
+
+    public void setMaxFacetStringLength(Integer maxFacetStringLength) {
+        this.maxFacetStringLength = maxFacetStringLength;
+    }
+
+    public Integer getMaxSchemaFields() {
+        return maxSchemaFields != null ? maxSchemaFields : 0;
+    }
+
+    public void setMaxSchemaFields(Integer maxSchemaFields) {
+        this.maxSchemaFields = maxSchemaFields;
+    }
+
+    public Boolean getFacetCache() {
+        return facetCache != null ? facetCache : false;
+    }
+
+    public void setFacetCache(Boolean facetCache) {
+        this.facetCache = facetCache;
+    }
+
+    public Integer getFacetCacheSize() {
+        return facetCacheSize != null ? facetCacheSize : 10000;
+    }
+
+    public void setFacetCacheSize(Integer facetCacheSize) {
+        this.facetCacheSize = facetCacheSize;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public List<URI> getReplicaUrls() {
+        return replicaUrls;
+    }
+
+    public void setReplicaUrls(List<URI> replicaUrls) {
+        this.replicaUrls = replicaUrls;
+    }
+
+    public LoadBalancing getLoadBalancing() {
+        return loadBalancing != null ? loadBalancing : LoadBalancing.ROUND_ROBIN;
+    }
+
+    public void setLoadBalancing(LoadBalancing loadBalancing) {
+        this.loadBalancing = loadBalancing;
+    }
+
+    public Integer getReplicaEjectionFailures() {
+        return replicaEjectionFailures != null ? replicaEjectionFailures : 3;
+    }
+
+    public void setReplicaEjectionFailures(Integer replicaEjectionFailures) {
+        this.replicaEjectionFailures = replicaEjectionFailures;
+    }
+
+    public Duration getReplicaEjectionLatency() {
+        return replicaEjectionLatency != null ? replicaEjectionLatency : Duration.ZERO;
+    }
+
+    public void setReplicaEjectionLatency(Duration replicaEjectionLatency) {
+        this.replicaEjectionLatency = replicaEjectionLatency;
+    }
+
+    public Duration getReplicaEjectionDuration() {
+        return replicaEjectionDuration != null ? replicaEjectionDuration : Duration.ofSeconds(30);
+    }
+
+    public void setReplicaEjectionDuration(Duration replicaEjectionDuration) {
+        this.replicaEjectionDuration = replicaEjectionDuration;
+    }
+
+    public Boolean getAdaptiveConcurrency() {
+        return adaptiveConcurrency != null ? adaptiveConcurrency : false;
+    }
+
+    public void setAdaptiveConcurrency(Boolean adaptiveConcurrency) {
+        this.adaptiveConcurrency = adaptiveConcurrency;
+    }
+
+    public Integer getConcurrencyInitialLimit() {
+        return concurrencyInitialLimit != null ? concurrencyInitialLimit : 4;
+    }
+
+    public void setConcurrencyInitialLimit(Integer concurrencyInitialLimit) {
+        this.concurrencyInitialLimit = concurrencyInitialLimit;
+    }
+
+    public Integer getConcurrencyMinLimit() {
+        return concurrencyMinLimit != null ? concurrencyMinLimit : 1;
+    }
+
+    public void setConcurrencyMinLimit(Integer concurrencyMinLimit) {
+        this.concurrencyMinLimit = concurrencyMinLimit;
+    }
+
+    public Integer getConcurrencyMaxLimit() {
+        return concurrencyMaxLimit != null ? concurrencyMaxLimit : 64;
+    }
+
+    public void setConcurrencyMaxLimit(Integer concurrencyMaxLimit) {
+        this.concurrencyMaxLimit = concurrencyMaxLimit;
+    }
+
+    public Duration getConcurrencyLatencyThreshold() {
+        return concurrencyLatencyThreshold != null ? concurrencyLatencyThreshold : Duration.ofSeconds(1);
+    }
+
+    public void setConcurrencyLatencyThreshold(Duration concurrencyLatencyThreshold) {
+        this.concurrencyLatencyThreshold = concurrencyLatencyThreshold;
+    }
+
+    public Double getRateLimitRequestsPerSecond() {
+        return rateLimitRequestsPerSecond != null ? rateLimitRequestsPerSecond : 0.0;
+    }
+
+    public void setRateLimitRequestsPerSecond(Double rateLimitRequestsPerSecond) {
+        this.rateLimitRequestsPerSecond = rateLimitRequestsPerSecond;
+    }
+
+    public Long getRateLimitBytesPerSecond() {
+        return rateLimitBytesPerSecond != null ? rateLimitBytesPerSecond : 0L;
+    }
+
+    public void setRateLimitBytesPerSecond(Long rateLimitBytesPerSecond) {
+        this.rateLimitBytesPerSecond = rateLimitBytesPerSecond;
+    }
+
+    public Duration getRateLimitBurst() {
+        return rateLimitBurst != null ? rateLimitBurst : Duration.ofSeconds(1);
+    }
+
+    public void setRateLimitBurst(Duration rateLimitBurst) {
+        this.rateLimitBurst = rateLimitBurst;
+    }
+
+    /**
+     * Returns how long a request may wait for the rate limit, or null to wait as long as it takes.
+     */
+    public Duration getRateLimitMaxWait() {
+        return rateLimitMaxWait;
+    }
+
+    public void setRateLimitMaxWait(Duration rateLimitMaxWait) {
+        this.rateLimitMaxWait = rateLimitMaxWait;
+    }
+
+    /**
+     * Returns how many connections to open before the first event, or null to open none.
+     */
+    public Integer getPrewarmConnections() {
+        return prewarmConnections;
+    }
+
+    public void setPrewarmConnections(Integer prewarmConnections) {
+        this.prewarmConnections = prewarmConnections;
+    }
+
+    /**
+     * Returns how long a resolved endpoint address is reused; zero leaves caching to the JVM.
+     */
+    public Duration getDnsCacheTtl() {
+        return dnsCacheTtl != null ? dnsCacheTtl : Duration.ZERO;
+    }
+
+    public void setDnsCacheTtl(Duration dnsCacheTtl) {
+        this.dnsCacheTtl = dnsCacheTtl;
+    }
+
+    /**
+     * Returns the config of one fan-out target: a copy of this config that delivers asynchronously to the
+     * endpoint. Each additional endpoint spools to its own subdirectory so targets never share a spool.
+     *
+     * @param index position in {@link #getEndpoints()} counting from 1, or 0 for {@link #getUrl()} itself
+     */
+    InsecureHttpConfig forEndpoint(Endpoint endpoint, int index) {
+        InsecureHttpConfig copy;
+        try {
+            copy = (InsecureHttpConfig) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        copy.url = endpoint.getUrl();
+        if (endpoint.getHeaders() != null) {
+            Map<String, String> merged = headers != null ? new HashMap<>(headers) : new HashMap<>();
+            merged.putAll(endpoint.getHeaders());
+            copy.headers = merged;
+        }
+        if (endpoint.getTimeout() != null) {
+            copy.timeout = endpoint.getTimeout();
+        }
+        copy.async = true;
+        copy.endpoints = null;
+        if (index > 0) {
+            copy.batchUrl = null;
+            copy.replicaUrls = null;
+            if (spoolDirectory != null) {
+                copy.spoolDirectory = Paths.get(spoolDirectory, "endpoint-" + index).toString();
+            }
+        }
+        return copy;
+    }
 }
@@ -3,112 +3,799 @@ package io.openlineage.client.transports;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Tags;
 import io.openlineage.client.OpenLineage;
 import io.openlineage.client.OpenLineageClientException;
+import io.openlineage.client.metrics.MicrometerProvider;
+import lombok.extern.slf4j.Slf4j;
 
-import javax.net.ssl.HostnameVerifier;
-import javax.net.ssl.HttpsURLConnection;
+import javax.management.JMException;
+import javax.management.ObjectName;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
 import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.file.Paths;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Custom HTTP transport that bypasses SSL certificate validation.
  */
+@Slf4j
 public class InsecureHttpTransport extends Transport {
     
+    // TLS sessions larger than a few hundred endpoints are not worth keeping; a day matches common server tickets
+    private static final int SSL_SESSION_CACHE_SIZE = 256;
+    private static final int SSL_SESSION_TIMEOUT_SECONDS = 24 * 60 * 60;
+    
+    // Shared by all transports so its session cache lets new connections resume instead of full handshakes
+    private static SSLContext insecureSslContext;
+    
+    // Distinguishes the JMX and Micrometer names of transports living in the same JVM
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+    
     private final InsecureHttpConfig config;
-    private final ObjectMapper objectMapper;
+    private final List<InsecureHttpTransport> endpointTransports;
+    private final EventSerializer serializer;
+    private final EventFilter eventFilter;
+    private final FacetTrimmer facetTrimmer;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final RateLimiter rateLimiter;
+    private final long rateLimitMaxWaitNanos;
+    private final HttpSender connectionPool;
+    private final HttpSender batchConnectionPool;
+    private final EventBatcher batcher;
+    private final EventSpool spool;
+    private final SpoolReplayer spoolReplayer;
+    private final AsyncEventDispatcher<Object> dispatcher;
+    private final TransportMetrics metrics;
+    private final ObjectName jmxName;
+    private final InsecureHttpTransportMeterBinder meterBinder;
+    private final StageTraceSink traceSink;
     
     public InsecureHttpTransport(InsecureHttpConfig config) {
         this.config = config;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        setupInsecureSSL();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        
+        // Trimming happens while serializing, so dropped and unchanged facets cost neither bytes nor encoding
+        this.facetTrimmer = createFacetTrimmer(config, config.getFacetCache());
+        if (facetTrimmer != null) {
+            facetTrimmer.install(objectMapper);
+        }
+        this.serializer = new EventSerializer(objectMapper);
+        SSLContext sslContext = insecureSslContext();
+        
+        // With additional endpoints this transport only fans out; every target has its own queue, pool and retries
+        this.endpointTransports = config.getEndpoints() != null && !config.getEndpoints().isEmpty()
+            ? createEndpointTransports(config)
+            : null;
+        List<URI> urls = endpointTransports == null ? replicaUrls(config) : Collections.<URI>emptyList();
+        
+        // Repetitive RUNNING events are thinned out before they cost a request; state transitions always pass
+        boolean filterEvents = config.getEventSampleRates() != null && !config.getEventSampleRates().isEmpty()
+            || config.getDedup() || !config.getCoalesceWindow().isZero();
+        this.eventFilter = filterEvents
+            ? new EventFilter(config.getEventSampleRates(), config.getDedup(), config.getDedupCacheSize(),
+                config.getCoalesceWindow())
+            : null;
+        this.retryPolicy = new RetryPolicy(config.getMaxRetries(), config.getRetryInitialBackoff(),
+            config.getRetryMaxBackoff(), config.getRetryBudgetRatio());
+        this.traceSink = config.getTraceSampleRate() > 0 ? createTraceSink() : null;
+        this.circuitBreaker = config.getCircuitBreaker()
+            ? new CircuitBreaker(config.getCircuitBreakerFailureRateThreshold(),
+                config.getCircuitBreakerSlowCallRateThreshold(), config.getCircuitBreakerSlowCallDuration(),
+                config.getCircuitBreakerWindowSize(), config.getCircuitBreakerMinimumCalls(),
+                config.getCircuitBreakerOpenDuration(), config.getCircuitBreakerHalfOpenProbes())
+            : null;
+        this.concurrencyLimiter = config.getAdaptiveConcurrency()
+            ? new ConcurrencyLimiter(config.getConcurrencyInitialLimit(), config.getConcurrencyMinLimit(),
+                config.getConcurrencyMaxLimit(), config.getConcurrencyLatencyThreshold())
+            : null;
+        
+        // Requests over the quota wait for tokens, or fail over to the spool once they would wait too long
+        this.rateLimiter = config.getRateLimitRequestsPerSecond() > 0 || config.getRateLimitBytesPerSecond() > 0
+            ? new RateLimiter(config.getRateLimitRequestsPerSecond(), config.getRateLimitBytesPerSecond(),
+                config.getRateLimitBurst())
+            : null;
+        this.rateLimitMaxWaitNanos = config.getRateLimitMaxWait() != null
+            ? config.getRateLimitMaxWait().toNanos()
+            : Long.MAX_VALUE;
+        
+        RequestCompressor compressor = config.getCompression() != InsecureHttpConfig.Compression.NONE
+            ? new RequestCompressor(config.getCompression(), config.getCompressionThreshold())
+            : null;
+        
+        // Persistent connections are kept per endpoint so each event costs one round trip, not a new handshake;
+        // with replicas there is a pool per replica and requests are balanced over the healthy ones
+        this.connectionPool = !urls.isEmpty()
+            ? createBalancedSender(urls, "application/json", compressor, sslContext)
+            : null;
+        
+        // Undeliverable events are kept on disk and replayed in order once the endpoint recovers
+        if (config.getSpoolDirectory() != null && connectionPool != null) {
+            try {
+                this.spool = new EventSpool(Paths.get(config.getSpoolDirectory()), config.getSpoolSegmentSize(),
+                    config.getSpoolMaxBytes(), config.getSpoolFsync(), config.getSpoolFsyncInterval());
+            } catch (IOException e) {
+                throw new OpenLineageClientException("Failed to open spool directory " + config.getSpoolDirectory(), e);
+            }
+            this.spoolReplayer = new SpoolReplayer(spool,
+                // Replay is already off the emitting path, so it waits for the rate limit as long as it takes
+                (payload, offset, length) -> post(connectionPool, payload, offset, length, Long.MAX_VALUE),
+                config.getSpoolReplayInterval());
+        } else {
+            this.spool = null;
+            this.spoolReplayer = null;
+        }
+        
+        // Batching trades a little latency (at most batchLinger) for far fewer requests
+        if (config.getBatch() && connectionPool != null) {
+            String contentType = config.getBatchFormat() == InsecureHttpConfig.BatchFormat.NDJSON
+                ? "application/x-ndjson" : "application/json";
+            Set<URI> batchUrls = new LinkedHashSet<>();
+            for (URI replicaUrl : urls) {
+                batchUrls.add(config.getBatchUrl(replicaUrl));
+            }
+            this.batchConnectionPool = createBalancedSender(new ArrayList<>(batchUrls), contentType, compressor,
+                sslContext);
+            this.batcher = new EventBatcher(config.getBatchFormat(), config.getBatchMaxEvents(),
+                config.getBatchMaxBytes(), config.getBatchLinger(),
+                (payload, offset, length) -> post(batchConnectionPool, payload, offset, length),
+                (payload, offset, length) -> post(connectionPool, payload, offset, length),
+                spool != null ? this::spoolBatch : null);
+        } else {
+            this.batchConnectionPool = null;
+            this.batcher = null;
+        }
+        
+        // Warming happens off the caller's thread, so building the transport stays as fast as before
+        int prewarmConnections = config.getPrewarmConnections() != null ? config.getPrewarmConnections() : 0;
+        if (prewarmConnections > 0 && connectionPool != null) {
+            prewarm(batchConnectionPool != null ? batchConnectionPool : connectionPool, prewarmConnections);
+        }
+        
+        // In async mode events are queued and sent from dedicated threads instead of the caller's
+        this.dispatcher = config.getAsync() && endpointTransports == null
+            ? new AsyncEventDispatcher<>(config.getQueueCapacity(), concurrencyCapacity(config.getSenderThreads()),
+                config.getOverflowPolicy(), "openlineage-http-insecure-sender", this::send,
+                spool != null ? this::spoolDropped : null, config.getVirtualThreads())
+            : null;
+        
+        // When metrics are off the field stays null and every recording site is a single null check
+        if (config.getMetrics()) {
+            this.metrics = new TransportMetrics(
+                () -> dispatcher != null ? dispatcher.getQueueDepth() : 0,
+                () -> spool != null ? spool.getSizeBytes() : 0,
+                () -> dispatcher != null ? dispatcher.getDroppedCount() : 0,
+                retryPolicy::getRetryCount,
+                () -> concurrencyLimiter != null ? concurrencyLimiter.getLimit() : 0);
+            String name = "http-insecure-" + INSTANCES.incrementAndGet();
+            this.jmxName = config.getMetricsJmx() ? registerMBean(metrics, name) : null;
+            if (config.getMetricsMicrometer()) {
+                this.meterBinder = new InsecureHttpTransportMeterBinder(metrics, Tags.of("transport", name));
+                meterBinder.bindTo(MicrometerProvider.getMeterRegistry());
+            } else {
+                this.meterBinder = null;
+            }
+        } else {
+            this.metrics = null;
+            this.jmxName = null;
+            this.meterBinder = null;
+        }
     }
     
     @Override
     public void emit(OpenLineage.RunEvent event) {
+        emitEvent(event);
+    }
+    
+    @Override
+    public void emit(OpenLineage.DatasetEvent event) {
+        emitEvent(event);
+    }
+    
+    @Override
+    public void emit(OpenLineage.JobEvent event) {
+        emitEvent(event);
+    }
+    
+    /**
+     * Compiles a template for {@link #emit(EventTemplate, UUID, OpenLineage.RunEvent.EventType, ZonedDateTime)}
+     * from a sample run event. Facets are trimmed as configured, except that the facet cache does not
+     * apply: a template always carries all of the sample's facets.
+     */
+    public EventTemplate compileTemplate(OpenLineage.RunEvent sample) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        FacetTrimmer templateTrimmer = createFacetTrimmer(config, false);
+        if (templateTrimmer != null) {
+            templateTrimmer.install(objectMapper);
+        }
         try {
-            String jsonPayload = objectMapper.writeValueAsString(event);
-            sendHttpRequest(jsonPayload);
-        } catch (JsonProcessingException e) {
-            throw new OpenLineageClientException("Failed to serialize event to JSON", e);
+            return EventTemplate.compile(objectMapper, sample);
         } catch (IOException e) {
-            throw new OpenLineageClientException("Failed to send HTTP request", e);
+            throw new OpenLineageClientException("Failed to serialize event to JSON", e);
+        }
+    }
+    
+    /**
+     * Emits the template's event with the given run, event type and time, without serializing it again.
+     * Behaves like emitting the equivalent RunEvent, including sampling, deduplication and batching.
+     */
+    public void emit(EventTemplate template, UUID runId, OpenLineage.RunEvent.EventType eventType,
+                     ZonedDateTime eventTime) {
+        emitEvent(new EventTemplate.Instance(template, runId, eventType, eventTime));
+    }
+    
+    /**
+     * Returns the transport's metrics, or null unless {@code metrics} is enabled in the config.
+     */
+    public InsecureHttpTransportMXBean getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Waits until every event queued in async mode has been sent or dropped, then sends any
+     * partially filled batch. Returns immediately in synchronous mode without batching.
+     *
+     * @return true if all queued events were handled before the timeout
+     */
+    public boolean flush(Duration timeout) {
+        if (endpointTransports != null) {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            boolean drained = true;
+            for (InsecureHttpTransport transport : endpointTransports) {
+                drained &= transport.flush(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+            }
+            return drained;
         }
+        boolean drained = dispatcher == null || dispatcher.flush(timeout);
+        if (batcher != null) {
+            try {
+                batcher.flush();
+            } catch (IOException e) {
+                throw new OpenLineageClientException("Failed to send HTTP request", e);
+            }
+        }
+        return drained;
     }
     
     @Override
-    public void emit(OpenLineage.DatasetEvent event) {
+    public void close() {
         try {
-            String jsonPayload = objectMapper.writeValueAsString(event);
-            sendHttpRequest(jsonPayload);
-        } catch (JsonProcessingException e) {
-            throw new OpenLineageClientException("Failed to serialize event to JSON", e);
+            if (endpointTransports != null) {
+                closeEndpointTransports();
+            }
+            if (dispatcher != null) {
+                dispatcher.close(config.getCloseTimeout());
+            }
+            if (batcher != null) {
+                batcher.close();
+            }
         } catch (IOException e) {
             throw new OpenLineageClientException("Failed to send HTTP request", e);
+        } finally {
+            closeSpool();
+            unregisterMetrics();
+            if (batchConnectionPool != null) {
+                batchConnectionPool.close();
+            }
+            if (connectionPool != null) {
+                connectionPool.close();
+            }
         }
     }
     
-    @Override
-    public void emit(OpenLineage.JobEvent event) {
+    private void emitEvent(Object event) {
+        if (metrics != null) {
+            metrics.onEmit();
+        }
+        if (endpointTransports != null) {
+            for (InsecureHttpTransport transport : endpointTransports) {
+                transport.emitEvent(event);
+            }
+        } else if (dispatcher != null) {
+            dispatcher.submit(event);
+        } else {
+            send(event);
+        }
+    }
+    
+    /**
+     * Opens the configured number of connections to the endpoint that events go to first, resolving its
+     * address on the way. A failure is only logged; the first request connects and reports it as usual.
+     */
+    private void prewarm(HttpSender sender, int connections) {
+        Thread thread = new Thread(() -> {
+            try {
+                sender.prewarm(connections, config.getTimeoutInMillis());
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to pre-warm connections to the OpenLineage endpoint", e);
+            }
+        }, "openlineage-http-insecure-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private static FacetTrimmer createFacetTrimmer(InsecureHttpConfig config, boolean facetCache) {
+        boolean trimFacets = config.getDropFacets() != null && !config.getDropFacets().isEmpty()
+            || config.getMaxFacetStringLength() > 0 || config.getMaxSchemaFields() > 0 || facetCache;
+        return trimFacets
+            ? new FacetTrimmer(config.getDropFacets(), config.getMaxFacetStringLength(), config.getMaxSchemaFields(),
+                facetCache, config.getFacetCacheSize())
+            : null;
+    }
+    
+    private static List<InsecureHttpTransport> createEndpointTransports(InsecureHttpConfig config) {
+        List<InsecureHttpConfig.Endpoint> targets = new ArrayList<>();
+        if (config.getUrl() != null || config.getReplicaUrls() != null && !config.getReplicaUrls().isEmpty()) {
+            InsecureHttpConfig.Endpoint primary = new InsecureHttpConfig.Endpoint();
+            primary.setUrl(config.getUrl());
+            targets.add(primary);
+        }
+        targets.addAll(config.getEndpoints());
+        List<InsecureHttpTransport> transports = new ArrayList<>();
+        try {
+            for (int i = 0; i < targets.size(); i++) {
+                int index = targets.size() > config.getEndpoints().size() ? i : i + 1;
+                transports.add(new InsecureHttpTransport(config.forEndpoint(targets.get(i), index)));
+            }
+        } catch (RuntimeException e) {
+            for (InsecureHttpTransport transport : transports) {
+                transport.close();
+            }
+            throw e;
+        }
+        return Collections.unmodifiableList(transports);
+    }
+    
+    private void closeEndpointTransports() {
+        RuntimeException failure = null;
+        for (InsecureHttpTransport transport : endpointTransports) {
+            try {
+                transport.close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private void send(Object event) {
+        if (traceSink == null || ThreadLocalRandom.current().nextDouble() >= config.getTraceSampleRate()) {
+            sendEvent(event);
+            return;
+        }
+        StageTrace trace = StageTrace.begin(event instanceof EventTemplate.Instance
+            ? "RunEvent"
+            : event.getClass().getSimpleName());
+        boolean failed = true;
+        try {
+            sendEvent(event);
+            failed = false;
+        } finally {
+            trace.end(failed);
+            traceSink.record(trace);
+        }
+    }
+    
+    private void sendEvent(Object event) {
         try {
-            String jsonPayload = objectMapper.writeValueAsString(event);
-            sendHttpRequest(jsonPayload);
+            long start = System.nanoTime();
+            PayloadBuffer jsonPayload = serializer.serialize(event);
+            StageTrace.record(StageTrace.Stage.SERIALIZE, start);
+            if (eventFilter != null && !eventFilter.accept(event, jsonPayload.array(), jsonPayload.size(),
+                    facetTrimmer != null ? facetTrimmer.cachedContent() : null)) {
+                if (metrics != null) {
+                    metrics.onEventFiltered();
+                }
+                return;
+            }
+            // Facets and dedup state only count as sent once the event is delivered or spooled
+            Runnable onDelivered = onDelivered(
+                facetTrimmer != null ? facetTrimmer.takePending() : null,
+                eventFilter != null ? eventFilter.takePending() : null);
+            if (queueBehindSpool(jsonPayload.array(), jsonPayload.size())) {
+                delivered(onDelivered);
+            } else if (batcher != null) {
+                // Batched events outlive this thread's buffer, so they need their own copy
+                batcher.add(jsonPayload.toByteArray(), onDelivered);
+            } else {
+                sendOrSpool(jsonPayload.array(), jsonPayload.size());
+                delivered(onDelivered);
+            }
         } catch (JsonProcessingException e) {
-            throw new OpenLineageClientException("Failed to serialize event to JSON", e);
+            throw failed(new OpenLineageClientException("Failed to serialize event to JSON", e));
+        } catch (CircuitBreakerOpenException e) {
+            if (config.getCircuitBreakerFallback() == InsecureHttpConfig.CircuitBreakerFallback.FAIL) {
+                throw failed(new OpenLineageClientException(e.getMessage(), e));
+            }
+            if (metrics != null) {
+                metrics.onEventDropped();
+            }
+            log.debug("Dropped OpenLineage event while the endpoint circuit breaker is open");
         } catch (IOException e) {
-            throw new OpenLineageClientException("Failed to send HTTP request", e);
+            throw failed(new OpenLineageClientException("Failed to send HTTP request", e));
+        } finally {
+            // Whatever ended the event, its facet updates must not be committed with the next one
+            if (facetTrimmer != null) {
+                facetTrimmer.discard();
+            }
         }
     }
     
-    private void sendHttpRequest(String jsonPayload) throws IOException {
-        URL url = config.getUrl().toURL();
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        
+    private void commitFacets(FacetTrimmer.Pending facets) {
+        if (facets != null) {
+            facetTrimmer.commit(facets);
+        }
+    }
+    
+    private Runnable onDelivered(FacetTrimmer.Pending facets, EventFilter.Pending filtered) {
+        if (facets == null && filtered == null) {
+            return null;
+        }
+        return () -> {
+            commitFacets(facets);
+            if (filtered != null) {
+                eventFilter.commit(filtered);
+            }
+        };
+    }
+    
+    private static void delivered(Runnable onDelivered) {
+        if (onDelivered != null) {
+            onDelivered.run();
+        }
+    }
+    
+    private OpenLineageClientException failed(OpenLineageClientException e) {
+        if (metrics != null) {
+            metrics.onEventFailed();
+        }
+        return e;
+    }
+    
+    private void sendOrSpool(byte[] jsonPayload, int length) throws IOException {
         try {
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setDoOutput(true);
-            connection.setConnectTimeout(config.getTimeoutInMillis());
-            connection.setReadTimeout(config.getTimeoutInMillis());
-            
-            if (config.getHeaders() != null) {
-                for (Map.Entry<String, String> header : config.getHeaders().entrySet()) {
-                    connection.setRequestProperty(header.getKey(), header.getValue());
+            sendHttpRequest(jsonPayload, length);
+        } catch (IOException e) {
+            if (!shouldSpool(e) || !spool(jsonPayload, length)) {
+                throw e;
+            }
+            log.warn("Failed to send OpenLineage event, spooled for replay: {}", e.toString());
+        }
+    }
+    
+    /**
+     * While older events wait in the spool, new ones are appended behind them rather than sent, so a run's
+     * COMPLETE cannot reach the collector before its spooled START. Returns false if the event is to be sent.
+     */
+    private boolean queueBehindSpool(byte[] jsonPayload, int length) throws IOException {
+        return spool != null && !spool.isEmpty() && spool(jsonPayload, length);
+    }
+    
+    private boolean spoolBatch(List<byte[]> events, IOException cause) {
+        if (!shouldSpool(cause)) {
+            return false;
+        }
+        for (byte[] event : events) {
+            if (!spool(event, event.length)) {
+                return false;
+            }
+        }
+        log.warn("Failed to send {} OpenLineage event(s), spooled for replay: {}", events.size(), cause.toString());
+        return true;
+    }
+    
+    private void spoolDropped(Object event) {
+        try {
+            PayloadBuffer jsonPayload = serializer.serialize(event);
+            FacetTrimmer.Pending facets = facetTrimmer != null ? facetTrimmer.takePending() : null;
+            if (spool(jsonPayload.array(), jsonPayload.size())) {
+                commitFacets(facets);
+            } else {
+                log.warn("OpenLineage event queue is full and the event could not be spooled, dropped");
+            }
+        } catch (IOException e) {
+            throw new OpenLineageClientException("Failed to serialize event to JSON", e);
+        } finally {
+            if (facetTrimmer != null) {
+                facetTrimmer.discard();
+            }
+        }
+    }
+    
+    /**
+     * Only failures that may go away are worth spooling; a request the endpoint rejected would be rejected again.
+     */
+    private boolean shouldSpool(IOException e) {
+        if (spool == null) {
+            return false;
+        }
+        if (e instanceof CircuitBreakerOpenException) {
+            return config.getCircuitBreakerFallback() == InsecureHttpConfig.CircuitBreakerFallback.SPOOL;
+        }
+        if (e instanceof HttpStatusException) {
+            return RetryPolicy.isRetryable(((HttpStatusException) e).getStatusCode());
+        }
+        return true;
+    }
+    
+    private boolean spool(byte[] payload, int length) {
+        try {
+            if (spool.append(payload, 0, length)) {
+                if (metrics != null) {
+                    metrics.onEventSpooled();
                 }
+                return true;
             }
-            
-            try (OutputStream outputStream = connection.getOutputStream()) {
-                byte[] input = jsonPayload.getBytes(StandardCharsets.UTF_8);
-                outputStream.write(input, 0, input.length);
-                outputStream.flush();
+            log.warn("OpenLineage event of {} bytes is larger than the spool, not spooled", length);
+        } catch (IOException e) {
+            log.warn("Failed to write OpenLineage event to the spool", e);
+        }
+        return false;
+    }
+    
+    private void closeSpool() {
+        if (spoolReplayer != null) {
+            spoolReplayer.close();
+        }
+        if (spool != null) {
+            try {
+                spool.close();
+            } catch (IOException e) {
+                log.warn("Failed to close OpenLineage spool", e);
             }
-            
-            int responseCode = connection.getResponseCode();
-            if (responseCode < 200 || responseCode >= 300) {
-                throw new IOException("HTTP request failed with response code: " + responseCode);
+        }
+    }
+    
+    private void sendHttpRequest(byte[] jsonPayload, int length) throws IOException {
+        if (connectionPool == null) {
+            throw new IOException("No url configured for the http-insecure transport");
+        }
+        HttpResponse response = post(connectionPool, jsonPayload, 0, length);
+        if (!response.isSuccessful()) {
+            throw new HttpStatusException("HTTP request failed with response code: ", response.getStatusCode());
+        }
+    }
+    
+    private HttpResponse post(HttpSender pool, byte[] payload, int offset, int length) throws IOException {
+        return post(pool, payload, offset, length, rateLimitMaxWaitNanos);
+    }
+    
+    private HttpResponse post(HttpSender pool, byte[] payload, int offset, int length, long maxRateLimitWaitNanos)
+        throws IOException {
+        // Every attempt takes its own tokens, so retries after a 429 or 5xx cannot exceed the configured rates.
+        // The first attempt's tokens come before the circuit breaker: a request the rate limit refuses never
+        // reached the endpoint and says nothing about its health.
+        acquireRateLimit(length, maxRateLimitWaitNanos);
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            throw new CircuitBreakerOpenException();
+        }
+        long start = System.nanoTime();
+        try {
+            AtomicInteger attempts = new AtomicInteger();
+            HttpResponse response = retryPolicy.execute(() -> {
+                if (attempts.getAndIncrement() > 0) {
+                    acquireRateLimit(length, maxRateLimitWaitNanos);
+                }
+                return timedPost(pool, payload, offset, length);
+            });
+            if (circuitBreaker != null) {
+                // Only server-side trouble counts against the endpoint; a 4xx means it is up
+                if (RetryPolicy.isRetryable(response)) {
+                    circuitBreaker.onFailure(System.nanoTime() - start);
+                } else {
+                    circuitBreaker.onSuccess(System.nanoTime() - start);
+                }
             }
-            
+            return response;
+        } catch (IOException | RuntimeException e) {
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure(System.nanoTime() - start);
+            }
+            throw e;
+        }
+    }
+    
+    private void acquireRateLimit(int length, long maxRateLimitWaitNanos) throws IOException {
+        if (rateLimiter != null && !rateLimiter.acquire(length, maxRateLimitWaitNanos)) {
+            throw new RateLimitExceededException();
+        }
+    }
+    
+    private HttpResponse timedPost(HttpSender pool, byte[] payload, int offset, int length) throws IOException {
+        if (concurrencyLimiter != null) {
+            concurrencyLimiter.acquire(TimeUnit.MILLISECONDS.toNanos(config.getTimeoutInMillis()));
+        }
+        if (metrics != null) {
+            metrics.onRequestStart();
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        boolean overloaded = true;
+        try {
+            HttpResponse response = pool.post(payload, offset, length, config.getTimeoutInMillis());
+            StageTrace.recordResponse(length, response.getStatusCode());
+            success = response.isSuccessful();
+            overloaded = RetryPolicy.isRetryable(response);
+            return response;
         } finally {
-            connection.disconnect();
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.release(System.nanoTime() - start, overloaded);
+            }
+            if (metrics != null) {
+                metrics.onRequestEnd(System.nanoTime() - start, success, length);
+            }
+        }
+    }
+    
+    private StageTraceSink createTraceSink() {
+        if (config.getTraceOutput() == InsecureHttpConfig.TraceOutput.JFR) {
+            Constructor<? extends StageTraceSink> jfrSink =
+                loadJava11Class("io.openlineage.client.transports.JfrStageTraceSink", StageTraceSink.class);
+            if (jfrSink != null) {
+                try {
+                    return jfrSink.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new OpenLineageClientException("Failed to create JFR trace sink", e);
+                }
+            }
+            log.warn("JFR trace output requires Java 11 or later, logging traces instead");
+        }
+        return trace -> log.info("OpenLineage emit trace: {}", trace);
+    }
+    
+    private static ObjectName registerMBean(InsecureHttpTransportMXBean bean, String name) {
+        try {
+            ObjectName objectName = new ObjectName("io.openlineage:type=InsecureHttpTransport,name=" + name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean, objectName);
+            return objectName;
+        } catch (JMException e) {
+            log.warn("Failed to register OpenLineage transport metrics with JMX", e);
+            return null;
+        }
+    }
+    
+    private void unregisterMetrics() {
+        if (meterBinder != null) {
+            meterBinder.close();
+        }
+        if (jmxName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(jmxName);
+            } catch (JMException e) {
+                log.debug("Failed to unregister OpenLineage transport metrics from JMX", e);
+            }
+        }
+    }
+    
+    /**
+     * The url followed by any replicaUrls not equal to it.
+     */
+    private static List<URI> replicaUrls(InsecureHttpConfig config) {
+        Set<URI> urls = new LinkedHashSet<>();
+        if (config.getUrl() != null) {
+            urls.add(config.getUrl());
+        }
+        if (config.getReplicaUrls() != null) {
+            urls.addAll(config.getReplicaUrls());
         }
+        return new ArrayList<>(urls);
     }
     
-    private void setupInsecureSSL() {
+    private HttpSender createBalancedSender(List<URI> urls, String contentType, RequestCompressor compressor,
+                                            SSLContext sslContext) {
+        if (urls.size() == 1) {
+            return createSender(urls.get(0), contentType, compressor, sslContext);
+        }
+        List<HttpSender> senders = new ArrayList<>();
         try {
+            for (URI replicaUrl : urls) {
+                senders.add(createSender(replicaUrl, contentType, compressor, sslContext));
+            }
+        } catch (RuntimeException e) {
+            for (HttpSender sender : senders) {
+                sender.close();
+            }
+            throw e;
+        }
+        return new LoadBalancedSender(urls, senders, config.getLoadBalancing(), config.getReplicaEjectionFailures(),
+            config.getReplicaEjectionLatency(), config.getReplicaEjectionDuration());
+    }
+    
+    private HttpSender createSender(URI url, String contentType, RequestCompressor compressor, SSLContext sslContext) {
+        if (config.getEngine() == InsecureHttpConfig.Engine.HTTP_CLIENT) {
+            Constructor<? extends HttpSender> httpClientSender = loadJava11Class(
+                "io.openlineage.client.transports.JdkHttpClientSender", HttpSender.class, URI.class, String.class,
+                Map.class, RequestCompressor.class, SSLContext.class, Duration.class);
+            if (httpClientSender != null) {
+                try {
+                    return httpClientSender.newInstance(url, contentType, config.getHeaders(), compressor, sslContext,
+                        Duration.ofMillis(config.getTimeoutInMillis()));
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    throw cause instanceof RuntimeException
+                        ? (RuntimeException) cause
+                        : new OpenLineageClientException("Failed to create HTTP client", cause);
+                } catch (ReflectiveOperationException e) {
+                    throw new OpenLineageClientException("Failed to create HTTP client", e);
+                }
+            }
+            log.warn("HTTP_CLIENT engine requires Java 11 or later, using the SOCKET engine");
+        }
+        return new HttpConnectionPool(url, contentType, config.getHeaders(), compressor,
+            sslContext.getSocketFactory(), concurrencyCapacity(config.getMaxConnections()),
+            config.getConnectionIdleTimeout(), config.getConnectionMaxLifetime(), config.getDnsCacheTtl());
+    }
+    
+    /**
+     * With adaptive concurrency the limiter decides how many requests are in flight, so sender threads and
+     * connections are sized to let it reach its maximum instead of capping it below.
+     */
+    private int concurrencyCapacity(int configured) {
+        return config.getAdaptiveConcurrency() ? Math.max(configured, config.getConcurrencyMaxLimit()) : configured;
+    }
+    
+    /**
+     * Looks up a class from src/main/java11, which is only present when built on Java 11+ and only
+     * loadable when running on it. Returns null if it is unavailable.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Constructor<? extends T> loadJava11Class(String className, Class<T> type,
+                                                               Class<?>... parameterTypes) {
+        try {
+            Class<?> implementation = Class.forName(className);
+            Constructor<? extends T> constructor = (Constructor<? extends T>) implementation.asSubclass(type)
+                .getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Returns the trust-all SSL context, created on first use. It is only handed to this transport's own
+     * connections; the JVM-wide HTTPS defaults are left alone, so other clients keep full validation.
+     */
+    private static synchronized SSLContext insecureSslContext() {
+        if (insecureSslContext != null) {
+            return insecureSslContext;
+        }
+        try {
+            // An X509ExtendedTrustManager is trusted to do its own hostname checks, so the JDK skips them
             TrustManager[] trustAllCerts = new TrustManager[] {
-                new X509TrustManager() {
+                new X509ExtendedTrustManager() {
                     @Override
                     public X509Certificate[] getAcceptedIssuers() {
                         return new X509Certificate[0];
@@ -121,16 +808,32 @@ public class InsecureHttpTransport extends Transport {
                     @Override
                     public void checkServerTrusted(X509Certificate[] certs, String authType) {
                     }
+                    
+                    @Override
+                    public void checkClientTrusted(X509Certificate[] certs, String authType, Socket socket) {
+                    }
+                    
+                    @Override
+                    public void checkServerTrusted(X509Certificate[] certs, String authType, Socket socket) {
+                    }
+                    
+                    @Override
+                    public void checkClientTrusted(X509Certificate[] certs, String authType, SSLEngine engine) {
+                    }
+                    
+                    @Override
+                    public void checkServerTrusted(X509Certificate[] certs, String authType, SSLEngine engine) {
+                    }
                 }
             };
             
             SSLContext sslContext = SSLContext.getInstance("TLS");
             sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
-            
-            HostnameVerifier allHostsValid = (hostname, session) -> true;
-            HttpsURLConnection.setDefaultHostnameVerifier(allHostsValid);
-            
+            sslContext.getClientSessionContext().setSessionCacheSize(SSL_SESSION_CACHE_SIZE);
+            sslContext.getClientSessionContext().setSessionTimeout(SSL_SESSION_TIMEOUT_SECONDS);
+            insecureSslContext = sslContext;
+            return sslContext;
+
         } catch (NoSuchAlgorithmException | KeyManagementException e) {
             throw new RuntimeException("Failed to setup insecure SSL context", e);
         }
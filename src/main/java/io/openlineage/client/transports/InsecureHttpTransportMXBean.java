@@ -0,0 +1,54 @@
+package io.openlineage.client.transports;
+
+/**
+ * Metrics of an {@link InsecureHttpTransport}, registered with the platform MBean server under
+ * {@code io.openlineage:type=InsecureHttpTransport,name=...} when {@code metrics} is enabled.
+ * Counters are cumulative since the transport was created.
+ */
+public interface InsecureHttpTransportMXBean {
+
+    /** Events passed to emit(). */
+    long getEventsEmitted();
+
+    /** Events whose emit failed with an exception, including failures on async sender threads. */
+    long getEventsFailed();
+
+    /** Events discarded because the async queue overflowed or the circuit breaker was open. */
+    long getEventsDropped();
+
+    /** RUNNING and OTHER run events left out by sampling, deduplication or coalescing. */
+    long getEventsFiltered();
+
+    /** Events written to the spool for later replay. */
+    long getEventsSpooled();
+
+    /** HTTP requests answered with a 2xx status. */
+    long getRequestsSucceeded();
+
+    /** HTTP requests that failed with an I/O error or a non-2xx status. */
+    long getRequestsFailed();
+
+    /** HTTP request attempts that were retries of an earlier attempt. */
+    long getRequestsRetried();
+
+    /** Request body bytes of successful requests, before compression. */
+    long getBytesSent();
+
+    int getInFlightRequests();
+
+    /** Current adaptive limit on requests in flight, or 0 when adaptiveConcurrency is off. */
+    int getConcurrencyLimit();
+
+    int getQueueDepth();
+
+    long getSpoolSizeBytes();
+
+    /** Median request latency over the last minute; the other percentiles and the maximum cover the same window. */
+    long getRequestLatencyP50Micros();
+
+    long getRequestLatencyP99Micros();
+
+    long getRequestLatencyP999Micros();
+
+    long getRequestLatencyMaxMicros();
+}
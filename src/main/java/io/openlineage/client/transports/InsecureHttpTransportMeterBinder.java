@@ -0,0 +1,88 @@
+package io.openlineage.client.transports;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the metrics of an {@link InsecureHttpTransport} to a Micrometer registry. Enabled with
+ * {@code metricsMicrometer} for OpenLineage's global registry, or bound by hand to any other:
+ * <pre>
+ * new InsecureHttpTransportMeterBinder(transport.getMetrics(), Tags.of("job", jobName)).bindTo(registry);
+ * </pre>
+ * Latency percentiles are gauges tagged with {@code quantile}, since the histogram lives in the transport.
+ */
+public class InsecureHttpTransportMeterBinder implements MeterBinder, AutoCloseable {
+
+    private static final String PREFIX = "openlineage.transport.http.insecure.";
+
+    private final InsecureHttpTransportMXBean metrics;
+    private final Tags tags;
+    private final List<Meter> meters = new ArrayList<>();
+    private MeterRegistry registry;
+
+    public InsecureHttpTransportMeterBinder(InsecureHttpTransportMXBean metrics, Tags tags) {
+        this.metrics = metrics;
+        this.tags = tags;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        counter(registry, "events.emitted", InsecureHttpTransportMXBean::getEventsEmitted, "events");
+        counter(registry, "events.failed", InsecureHttpTransportMXBean::getEventsFailed, "events");
+        counter(registry, "events.dropped", InsecureHttpTransportMXBean::getEventsDropped, "events");
+        counter(registry, "events.filtered", InsecureHttpTransportMXBean::getEventsFiltered, "events");
+        counter(registry, "events.spooled", InsecureHttpTransportMXBean::getEventsSpooled, "events");
+        counter(registry, "requests.succeeded", InsecureHttpTransportMXBean::getRequestsSucceeded, "requests");
+        counter(registry, "requests.failed", InsecureHttpTransportMXBean::getRequestsFailed, "requests");
+        counter(registry, "requests.retried", InsecureHttpTransportMXBean::getRequestsRetried, "requests");
+        counter(registry, "bytes.sent", InsecureHttpTransportMXBean::getBytesSent, "bytes");
+        gauge(registry, "requests.in.flight", Tags.empty(), InsecureHttpTransportMXBean::getInFlightRequests, "requests");
+        gauge(registry, "concurrency.limit", Tags.empty(), InsecureHttpTransportMXBean::getConcurrencyLimit, "requests");
+        gauge(registry, "queue.depth", Tags.empty(), InsecureHttpTransportMXBean::getQueueDepth, "events");
+        gauge(registry, "spool.size", Tags.empty(), InsecureHttpTransportMXBean::getSpoolSizeBytes, "bytes");
+        gauge(registry, "request.latency", Tags.of("quantile", "0.5"),
+            m -> m.getRequestLatencyP50Micros() / 1000.0, "milliseconds");
+        gauge(registry, "request.latency", Tags.of("quantile", "0.99"),
+            m -> m.getRequestLatencyP99Micros() / 1000.0, "milliseconds");
+        gauge(registry, "request.latency", Tags.of("quantile", "0.999"),
+            m -> m.getRequestLatencyP999Micros() / 1000.0, "milliseconds");
+        gauge(registry, "request.latency.max", Tags.empty(),
+            m -> m.getRequestLatencyMaxMicros() / 1000.0, "milliseconds");
+    }
+
+    /**
+     * Removes the meters this binder registered.
+     */
+    @Override
+    public synchronized void close() {
+        if (registry != null) {
+            meters.forEach(registry::remove);
+        }
+        meters.clear();
+    }
+
+    private void counter(MeterRegistry registry, String name, ToDoubleFunction<InsecureHttpTransportMXBean> value,
+                         String unit) {
+        meters.add(FunctionCounter.builder(PREFIX + name, metrics, value)
+            .tags(tags)
+            .baseUnit(unit)
+            .register(registry));
+    }
+
+    private void gauge(MeterRegistry registry, String name, Tags extraTags,
+                       ToDoubleFunction<InsecureHttpTransportMXBean> value, String unit) {
+        meters.add(Gauge.builder(PREFIX + name, metrics, value)
+            .tags(tags.and(extraTags))
+            .baseUnit(unit)
+            .register(registry));
+    }
+}
@@ -0,0 +1,148 @@
+package io.openlineage.client.transports;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the style of HdrHistogram: each power of two
+ * of microseconds is split into 16 linear sub-buckets, so any recorded value is reported within about
+ * 6% while the whole range from 1 microsecond to hours fits in a few hundred counters. Recording is a
+ * couple of shifts and one atomic increment.
+ * <p>
+ * Values are kept in a ring of time slots, and counts, percentiles and the maximum cover only the
+ * slots of the last window (one minute by default). A latency regression therefore shows up within a
+ * window, rather than being diluted by everything recorded since the transport started.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below SUB_BUCKETS map one-to-one; each higher power of two adds SUB_BUCKETS buckets
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int SLOTS = 6;
+
+    private final AtomicLongArray[] counts = new AtomicLongArray[SLOTS];
+    private final LongAccumulator[] maxMicros = new LongAccumulator[SLOTS];
+    private final long slotNanos;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    // Index of the slot being recorded into, counted from startNanos; older slots are cleared on rotation
+    private volatile long currentSlot;
+
+    LatencyHistogram() {
+        this(Duration.ofMinutes(1), System::nanoTime);
+    }
+
+    LatencyHistogram(Duration window, LongSupplier nanoClock) {
+        for (int i = 0; i < SLOTS; i++) {
+            counts[i] = new AtomicLongArray(BUCKETS);
+            maxMicros[i] = new LongAccumulator(Math::max, 0);
+        }
+        this.slotNanos = Math.max(1, window.toNanos() / SLOTS);
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        int slot = rotate();
+        counts[slot].incrementAndGet(bucketOf(micros));
+        maxMicros[slot].accumulate(micros);
+    }
+
+    long getCount() {
+        rotate();
+        long count = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            for (int i = 0; i < BUCKETS; i++) {
+                count += counts[slot].get(i);
+            }
+        }
+        return count;
+    }
+
+    long getMaxMicros() {
+        rotate();
+        long max = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            max = Math.max(max, maxMicros[slot].get());
+        }
+        return max;
+    }
+
+    /**
+     * Returns the value in microseconds below which the given fraction of values recorded in the last
+     * window fall, or 0 if nothing was recorded.
+     */
+    long getPercentileMicros(double percentile) {
+        rotate();
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = counts[slot].get(i);
+                snapshot[i] += count;
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long max = getMaxMicros();
+        long rank = (long) Math.ceil(Math.min(1.0, Math.max(0.0, percentile)) * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Moves to the slot for the current time, clearing the slots that fell out of the window, and
+     * returns its index in the ring.
+     */
+    private int rotate() {
+        long slot = (nanoClock.getAsLong() - startNanos) / slotNanos;
+        if (slot != currentSlot) {
+            synchronized (this) {
+                long previous = currentSlot;
+                if (slot > previous) {
+                    for (long expired = previous + 1; expired <= Math.min(slot, previous + SLOTS); expired++) {
+                        int index = (int) (expired % SLOTS);
+                        for (int i = 0; i < BUCKETS; i++) {
+                            counts[index].set(i, 0);
+                        }
+                        maxMicros[index].reset();
+                    }
+                    currentSlot = slot;
+                }
+            }
+        }
+        return (int) (slot % SLOTS);
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
@@ -0,0 +1,209 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads requests over the senders of several collector replicas, with passive health checking.
+ * <ul>
+ *   <li>A replica is ejected after a number of consecutive failures (connect errors, timeouts, 5xx) or
+ *   once the moving average of its response times exceeds the latency limit.</li>
+ *   <li>An ejected replica gets no requests until its ejection time has passed; the time grows with each
+ *   ejection that follows soon after the previous one. It is then readmitted and judged afresh.</li>
+ *   <li>The last healthy replica is never ejected, so requests always have somewhere to go.</li>
+ * </ul>
+ */
+@Slf4j
+final class LoadBalancedSender implements HttpSender {
+
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+    private static final double LATENCY_WEIGHT = 0.2;
+    private static final int MIN_LATENCY_SAMPLES = 5;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final InsecureHttpConfig.LoadBalancing strategy;
+    private final int ejectionFailures;
+    private final long ejectionLatencyNanos;
+    private final long ejectionNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    LoadBalancedSender(List<URI> urls, List<HttpSender> senders, InsecureHttpConfig.LoadBalancing strategy,
+                       int ejectionFailures, Duration ejectionLatency, Duration ejectionDuration) {
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(new Replica(urls.get(i), senders.get(i)));
+        }
+        this.strategy = strategy;
+        this.ejectionFailures = Math.max(1, ejectionFailures);
+        this.ejectionLatencyNanos = ejectionLatency.toNanos();
+        this.ejectionNanos = Math.max(1, ejectionDuration.toNanos());
+    }
+
+    @Override
+    public HttpResponse post(byte[] body, int offset, int length, int timeoutMillis) throws IOException {
+        Replica replica = choose();
+        replica.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            HttpResponse response = replica.sender.post(body, offset, length, timeoutMillis);
+            if (response.getStatusCode() >= 500) {
+                onFailure(replica);
+            } else {
+                onSuccess(replica, System.nanoTime() - start);
+            }
+            return response;
+        } catch (IOException e) {
+            onFailure(replica);
+            throw e;
+        } finally {
+            replica.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * Warms every replica, so requests find warm connections whichever replica they are balanced to.
+     */
+    @Override
+    public void prewarm(int connections, int timeoutMillis) throws IOException {
+        IOException failure = null;
+        for (Replica replica : replicas) {
+            try {
+                replica.sender.prewarm(connections, timeoutMillis);
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Whether the replica at the given position is currently ejected, for tests and diagnostics.
+     */
+    boolean isEjected(int index) {
+        Replica replica = replicas.get(index);
+        return replica.ejected && System.nanoTime() - replica.ejectedUntilNanos < 0;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.sender.close();
+        }
+    }
+
+    private Replica choose() {
+        long now = System.nanoTime();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        Replica chosen = null;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!isAvailable(replica, now)) {
+                continue;
+            }
+            if (strategy == InsecureHttpConfig.LoadBalancing.ROUND_ROBIN) {
+                return replica;
+            }
+            // Scanning from a rotating start spreads ties instead of always favouring the first replica
+            if (chosen == null || replica.outstanding.get() < chosen.outstanding.get()) {
+                chosen = replica;
+            }
+        }
+        return chosen != null ? chosen : replicas.get(start);
+    }
+
+    private boolean isAvailable(Replica replica, long now) {
+        if (!replica.ejected) {
+            return true;
+        }
+        if (now - replica.ejectedUntilNanos < 0) {
+            return false;
+        }
+        synchronized (this) {
+            if (replica.ejected) {
+                replica.ejected = false;
+                replica.consecutiveFailures = 0;
+                replica.latencySamples = 0;
+                log.info("Readmitted OpenLineage collector replica {}", replica.url);
+            }
+        }
+        return true;
+    }
+
+    private synchronized void onSuccess(Replica replica, long durationNanos) {
+        replica.consecutiveFailures = 0;
+        if (ejectionLatencyNanos <= 0) {
+            return;
+        }
+        replica.averageLatencyNanos = replica.latencySamples == 0
+            ? durationNanos
+            : replica.averageLatencyNanos + LATENCY_WEIGHT * (durationNanos - replica.averageLatencyNanos);
+        replica.latencySamples++;
+        if (replica.latencySamples >= MIN_LATENCY_SAMPLES && replica.averageLatencyNanos > ejectionLatencyNanos) {
+            eject(replica, String.format("average latency of %d ms", (long) replica.averageLatencyNanos / 1_000_000));
+        }
+    }
+
+    private synchronized void onFailure(Replica replica) {
+        if (++replica.consecutiveFailures >= ejectionFailures) {
+            eject(replica, replica.consecutiveFailures + " consecutive failures");
+        }
+    }
+
+    private void eject(Replica replica, String reason) {
+        if (replica.ejected) {
+            return;
+        }
+        int healthy = 0;
+        for (Replica other : replicas) {
+            healthy += other.ejected ? 0 : 1;
+        }
+        if (healthy <= 1) {
+            log.debug("Not ejecting OpenLineage collector replica {} after {}, it is the last healthy one",
+                replica.url, reason);
+            return;
+        }
+        long now = System.nanoTime();
+        // A replica that stayed healthy for a full base period since its last ejection starts over
+        if (replica.ejections > 0 && now - replica.ejectedUntilNanos > ejectionNanos) {
+            replica.ejections = 0;
+        }
+        replica.ejections = Math.min(MAX_EJECTION_MULTIPLIER, replica.ejections + 1);
+        long duration = ejectionNanos * replica.ejections;
+        replica.ejectedUntilNanos = now + duration;
+        replica.ejected = true;
+        log.warn("Ejected OpenLineage collector replica {} for {} ms after {}", replica.url, duration / 1_000_000,
+            reason);
+    }
+
+    private static final class Replica {
+        private final URI url;
+        private final HttpSender sender;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        // Read without the lock when choosing a replica
+        private volatile boolean ejected;
+        private volatile long ejectedUntilNanos;
+
+        // Guarded by the sender's lock
+        private int consecutiveFailures;
+        private int ejections;
+        private int latencySamples;
+        private double averageLatencyNanos;
+
+        private Replica(URI url, HttpSender sender) {
+            this.url = url;
+            this.sender = sender;
+        }
+    }
+}
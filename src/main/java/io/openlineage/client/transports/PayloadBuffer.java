@@ -0,0 +1,25 @@
+package io.openlineage.client.transports;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Growable byte buffer whose backing array can be read without copying.
+ * Instances are reused per thread, so callers must finish with {@link #array()} before the next write.
+ */
+final class PayloadBuffer extends ByteArrayOutputStream {
+
+    PayloadBuffer(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Returns the backing array; only the first {@link #size()} bytes are valid.
+     */
+    byte[] array() {
+        return buf;
+    }
+
+    int capacity() {
+        return buf.length;
+    }
+}
@@ -0,0 +1,10 @@
+package io.openlineage.client.transports;
+
+import java.io.IOException;
+
+/**
+ * Sends a serialized request body and returns the response.
+ */
+interface PayloadSender {
+    HttpResponse send(byte[] payload, int offset, int length) throws IOException;
+}
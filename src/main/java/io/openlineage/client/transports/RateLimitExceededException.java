@@ -0,0 +1,13 @@
+package io.openlineage.client.transports;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request when the rate limit would hold it back longer than allowed.
+ */
+final class RateLimitExceededException extends IOException {
+
+    RateLimitExceededException() {
+        super("OpenLineage rate limit reached, request was not sent");
+    }
+}
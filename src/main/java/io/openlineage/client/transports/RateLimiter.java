@@ -0,0 +1,88 @@
+package io.openlineage.client.transports;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets for requests per second and request bytes per second. Both refill continuously and
+ * hold up to one burst period's worth of tokens, so short bursts pass at once and sustained traffic is
+ * smoothed to the configured rates. A request waits until the buckets hold its tokens; a body larger
+ * than the byte bucket waits for a full bucket and overdraws it, and the requests after it wait until
+ * the debt is paid off.
+ */
+final class RateLimiter {
+
+    private final double requestsPerNano;
+    private final double bytesPerNano;
+    private final double requestCapacity;
+    private final double byteCapacity;
+
+    private double requestTokens;
+    private double byteTokens;
+    private long refilledAtNanos;
+
+    /**
+     * @param requestsPerSecond sustained request rate, or 0 for no request limit
+     * @param bytesPerSecond sustained body byte rate, or 0 for no byte limit
+     */
+    RateLimiter(double requestsPerSecond, long bytesPerSecond, Duration burst) {
+        double burstSeconds = Math.max(0.001, burst.toNanos() / 1e9);
+        this.requestsPerNano = Math.max(0, requestsPerSecond) / 1e9;
+        this.bytesPerNano = Math.max(0, bytesPerSecond) / 1e9;
+        this.requestCapacity = Math.max(1, requestsPerSecond * burstSeconds);
+        this.byteCapacity = Math.max(1, bytesPerSecond * burstSeconds);
+        this.requestTokens = requestCapacity;
+        this.byteTokens = byteCapacity;
+        this.refilledAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes the tokens for one request of the given size, waiting until the buckets allow it. If that
+     * would take longer than the maximum wait, returns false at once without taking anything.
+     */
+    boolean acquire(int bytes, long maxWaitNanos) throws InterruptedIOException {
+        long waitNanos;
+        synchronized (this) {
+            refill(System.nanoTime());
+            waitNanos = Math.max(waitNanos(requestTokens, 1, requestsPerNano),
+                waitNanos(byteTokens, Math.min(bytes, byteCapacity), bytesPerNano));
+            if (waitNanos > maxWaitNanos) {
+                return false;
+            }
+            if (requestsPerNano > 0) {
+                requestTokens -= 1;
+            }
+            if (bytesPerNano > 0) {
+                byteTokens -= bytes;
+            }
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the OpenLineage rate limit");
+            }
+        }
+        return true;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAtNanos;
+        refilledAtNanos = now;
+        requestTokens = Math.min(requestCapacity, requestTokens + elapsed * requestsPerNano);
+        byteTokens = Math.min(byteCapacity, byteTokens + elapsed * bytesPerNano);
+    }
+
+    /**
+     * Time until the bucket holds the needed tokens. Tokens taken by earlier callers that are still
+     * waiting have already been deducted, so later callers queue up behind them.
+     */
+    private static long waitNanos(double tokens, double needed, double perNano) {
+        if (perNano <= 0 || tokens >= needed) {
+            return 0;
+        }
+        return (long) Math.ceil((needed - tokens) / perNano);
+    }
+}
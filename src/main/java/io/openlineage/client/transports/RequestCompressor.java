@@ -0,0 +1,113 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses request bodies at or above a size threshold. Gzip uses a per-thread {@link Deflater}
+ * and output buffer, so compressing an event does not allocate native zlib state each time.
+ * Zstandard is used only when zstd-jni is on the classpath; otherwise gzip is used instead.
+ */
+@Slf4j
+final class RequestCompressor {
+
+    private static final String ZSTD_OUTPUT_STREAM = "com.github.luben.zstd.ZstdOutputStream";
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private final InsecureHttpConfig.Compression compression;
+    private final int threshold;
+    private final Constructor<? extends OutputStream> zstdConstructor;
+    private final ThreadLocal<ThreadState> threadState = new ThreadLocal<>();
+
+    RequestCompressor(InsecureHttpConfig.Compression compression, int threshold) {
+        Constructor<? extends OutputStream> zstd = null;
+        if (compression == InsecureHttpConfig.Compression.ZSTD) {
+            zstd = loadZstd();
+            if (zstd == null) {
+                log.warn("zstd compression requested but {} is not on the classpath, using gzip", ZSTD_OUTPUT_STREAM);
+                compression = InsecureHttpConfig.Compression.GZIP;
+            }
+        }
+        this.compression = compression;
+        this.threshold = Math.max(0, threshold);
+        this.zstdConstructor = zstd;
+    }
+
+    /**
+     * Value for the Content-Encoding header of compressed requests.
+     */
+    String getContentEncoding() {
+        return compression == InsecureHttpConfig.Compression.ZSTD ? "zstd" : "gzip";
+    }
+
+    boolean shouldCompress(int length) {
+        return compression != InsecureHttpConfig.Compression.NONE && length >= threshold;
+    }
+
+    /**
+     * Compresses the body into this thread's buffer, which is overwritten by the next call on the same thread.
+     */
+    PayloadBuffer compress(byte[] body, int offset, int length) throws IOException {
+        ThreadState state = threadState.get();
+        if (state == null || state.output.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            if (state != null) {
+                state.deflater.end();
+            }
+            state = new ThreadState();
+            threadState.set(state);
+        }
+        state.output.reset();
+        if (zstdConstructor != null) {
+            try (OutputStream zstd = zstdConstructor.newInstance(state.output)) {
+                zstd.write(body, offset, length);
+            } catch (ReflectiveOperationException e) {
+                throw new IOException("Failed to create zstd stream", e);
+            }
+            return state.output;
+        }
+
+        state.deflater.reset();
+        state.crc.reset();
+        state.crc.update(body, offset, length);
+        state.output.write(GZIP_HEADER);
+        state.deflater.setInput(body, offset, length);
+        state.deflater.finish();
+        while (!state.deflater.finished()) {
+            int written = state.deflater.deflate(state.scratch);
+            state.output.write(state.scratch, 0, written);
+        }
+        writeIntLE(state.output, (int) state.crc.getValue());
+        writeIntLE(state.output, length);
+        return state.output;
+    }
+
+    private static void writeIntLE(PayloadBuffer output, int value) {
+        output.write(value & 0xff);
+        output.write((value >>> 8) & 0xff);
+        output.write((value >>> 16) & 0xff);
+        output.write((value >>> 24) & 0xff);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Constructor<? extends OutputStream> loadZstd() {
+        try {
+            Class<?> zstdClass = Class.forName(ZSTD_OUTPUT_STREAM);
+            return (Constructor<? extends OutputStream>) zstdClass.getConstructor(OutputStream.class);
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static final class ThreadState {
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final CRC32 crc = new CRC32();
+        private final byte[] scratch = new byte[8192];
+        private final PayloadBuffer output = new PayloadBuffer(8192);
+    }
+}
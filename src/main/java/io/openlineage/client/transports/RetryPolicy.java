@@ -0,0 +1,149 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retries requests that failed on connect errors, timeouts, 429 or 5xx with exponential backoff and
+ * full jitter, honoring Retry-After. Retries draw from a shared budget that is refilled by a fraction
+ * of each first attempt, so when the collector is down retries add at most that fraction to the
+ * outbound request rate instead of multiplying it.
+ */
+@Slf4j
+final class RetryPolicy {
+
+    /**
+     * One attempt of a request.
+     */
+    interface Attempt {
+        HttpResponse execute() throws IOException;
+    }
+
+    // Retries allowed before any traffic has refilled the budget, and the most the budget can hold
+    private static final double BUDGET_RESERVE = 10;
+    private static final double BUDGET_CAP = 100;
+
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double budgetRatio;
+    private final LongAdder retries = new LongAdder();
+    private double budget = BUDGET_RESERVE;
+
+    RetryPolicy(int maxRetries, Duration initialBackoff, Duration maxBackoff, double budgetRatio) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialBackoffMillis = Math.max(1, initialBackoff.toMillis());
+        this.maxBackoffMillis = Math.max(initialBackoffMillis, maxBackoff.toMillis());
+        this.budgetRatio = Math.max(0, budgetRatio);
+    }
+
+    /**
+     * Runs the attempt, retrying while the failure is retryable, attempts remain and the budget allows.
+     * Returns the last response, which may be unsuccessful, or throws the last exception.
+     */
+    HttpResponse execute(Attempt attempt) throws IOException {
+        deposit();
+        for (int retry = 0; ; retry++) {
+            HttpResponse response;
+            long retryAfterMillis = -1;
+            try {
+                response = attempt.execute();
+                if (!isRetryable(response) || retry >= maxRetries) {
+                    return response;
+                }
+                retryAfterMillis = parseRetryAfter(response.getHeader("Retry-After"));
+                // Waiting longer than the backoff cap would hold the emitting thread hostage
+                if (retryAfterMillis > maxBackoffMillis || !withdraw()) {
+                    return response;
+                }
+                log.debug("Retrying OpenLineage request after response code {}", response.getStatusCode());
+            } catch (IOException e) {
+                if (!isRetryable(e) || retry >= maxRetries || !withdraw()) {
+                    throw e;
+                }
+                log.debug("Retrying OpenLineage request after {}", e.toString());
+            }
+            sleep(Math.max(retryAfterMillis, backoffMillis(retry)));
+            retries.increment();
+        }
+    }
+
+    long getRetryCount() {
+        return retries.sum();
+    }
+
+    static boolean isRetryable(HttpResponse response) {
+        return isRetryable(response.getStatusCode());
+    }
+
+    static boolean isRetryable(int status) {
+        return status == 429 || (status >= 500 && status != 501 && status != 505);
+    }
+
+    static boolean isRetryable(IOException e) {
+        // ConnectException and NoRouteToHostException are SocketExceptions too
+        return e instanceof SocketException || e instanceof SocketTimeoutException || e instanceof UnknownHostException;
+    }
+
+    private long backoffMillis(int retry) {
+        long ceiling = initialBackoffMillis << Math.min(retry, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffMillis) {
+            ceiling = maxBackoffMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private synchronized void deposit() {
+        budget = Math.min(BUDGET_CAP, budget + budgetRatio);
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget < 1) {
+            log.debug("OpenLineage retry budget exhausted, not retrying");
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    /**
+     * Parses Retry-After given either as delay seconds or as an HTTP date; returns -1 if absent or invalid.
+     */
+    static long parseRetryAfter(String value) {
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            // Not delay-seconds, try the HTTP-date form
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry OpenLineage request");
+        }
+    }
+}
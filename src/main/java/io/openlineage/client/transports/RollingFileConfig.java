@@ -0,0 +1,91 @@
+package io.openlineage.client.transports;
+
+import java.time.Duration;
+
+public class RollingFileConfig implements TransportConfig {
+
+    /**
+     * When written events are forced to disk.
+     */
+    public enum Fsync {
+        /** Never force; the operating system writes pages back when it chooses. */
+        NEVER,
+        /** Force in the background at most once per fsyncInterval; emit does not wait. */
+        INTERVAL,
+        /** emit returns only once its event is on disk; concurrent emits share one force (group commit). */
+        ALWAYS
+    }
+
+    private String directory;
+    private String filePrefix;
+    private Long maxFileSize;
+    private Duration maxFileAge;
+    private Integer maxFiles;
+    private Fsync fsync;
+    private Duration fsyncInterval;
+    private Long maxBufferBytes;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public String getFilePrefix() {
+        return filePrefix != null ? filePrefix : "openlineage";
+    }
+
+    public void setFilePrefix(String filePrefix) {
+        this.filePrefix = filePrefix;
+    }
+
+    public Long getMaxFileSize() {
+        return maxFileSize != null ? maxFileSize : 64L * 1024 * 1024;
+    }
+
+    public void setMaxFileSize(Long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public Duration getMaxFileAge() {
+        return maxFileAge != null ? maxFileAge : Duration.ofHours(1);
+    }
+
+    public void setMaxFileAge(Duration maxFileAge) {
+        this.maxFileAge = maxFileAge;
+    }
+
+    public Integer getMaxFiles() {
+        return maxFiles != null ? maxFiles : 0;
+    }
+
+    public void setMaxFiles(Integer maxFiles) {
+        this.maxFiles = maxFiles;
+    }
+
+    public Fsync getFsync() {
+        return fsync != null ? fsync : Fsync.INTERVAL;
+    }
+
+    public void setFsync(Fsync fsync) {
+        this.fsync = fsync;
+    }
+
+    public Duration getFsyncInterval() {
+        return fsyncInterval != null ? fsyncInterval : Duration.ofSeconds(1);
+    }
+
+    public void setFsyncInterval(Duration fsyncInterval) {
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    public Long getMaxBufferBytes() {
+        return maxBufferBytes != null ? maxBufferBytes : 8L * 1024 * 1024;
+    }
+
+    public void setMaxBufferBytes(Long maxBufferBytes) {
+        this.maxBufferBytes = maxBufferBytes;
+    }
+}
@@ -0,0 +1,73 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Transport that appends events as newline-delimited JSON to rolling files in a local directory.
+ * Each line is exactly the body the http-insecure transport would send for the event.
+ */
+public class RollingFileTransport extends Transport {
+
+    private final EventSerializer serializer;
+    private final RollingFileWriter writer;
+
+    public RollingFileTransport(RollingFileConfig config) {
+        if (config.getDirectory() == null) {
+            throw new OpenLineageClientException("No directory configured for the rolling-file transport");
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        this.serializer = new EventSerializer(objectMapper);
+        try {
+            this.writer = new RollingFileWriter(Paths.get(config.getDirectory()), config.getFilePrefix(),
+                config.getMaxFileSize(), config.getMaxFileAge(), config.getMaxFiles(), config.getFsync(),
+                config.getFsyncInterval(), config.getMaxBufferBytes());
+        } catch (IOException e) {
+            throw new OpenLineageClientException("Failed to open directory " + config.getDirectory(), e);
+        }
+    }
+
+    @Override
+    public void emit(OpenLineage.RunEvent event) {
+        emitEvent(event);
+    }
+
+    @Override
+    public void emit(OpenLineage.DatasetEvent event) {
+        emitEvent(event);
+    }
+
+    @Override
+    public void emit(OpenLineage.JobEvent event) {
+        emitEvent(event);
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new OpenLineageClientException("Failed to close event file", e);
+        }
+    }
+
+    private void emitEvent(Object event) {
+        PayloadBuffer jsonPayload;
+        try {
+            jsonPayload = serializer.serialize(event);
+        } catch (IOException e) {
+            throw new OpenLineageClientException("Failed to serialize event to JSON", e);
+        }
+        try {
+            writer.append(jsonPayload.array(), jsonPayload.size());
+        } catch (IOException e) {
+            throw new OpenLineageClientException("Failed to write event to file", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.openlineage.client.transports;
+
+/**
+ * Transport builder for writing events to rolling NDJSON files, for jobs that cannot reach a collector
+ * while they run. The files can be replayed into the http-insecure transport later.
+ */
+public class RollingFileTransportBuilder implements TransportBuilder {
+
+    @Override
+    public String getType() {
+        return "rolling-file";
+    }
+
+    @Override
+    public TransportConfig getConfig() {
+        return new RollingFileConfig();
+    }
+
+    @Override
+    public Transport build(TransportConfig config) {
+        return new RollingFileTransport((RollingFileConfig) config);
+    }
+}
@@ -0,0 +1,334 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends newline-terminated records to size- and age-bounded files with group commit.
+ * <p>
+ * Callers copy their record into a shared buffer and return; a single committer thread swaps the buffer
+ * out and writes everything that accumulated with one {@link FileChannel} write, so under load each
+ * write, and with {@code ALWAYS} each force, covers many records. The file being written is named
+ * {@code *.ndjson.part} and renamed to {@code *.ndjson} once it is complete, so readers only ever pick
+ * up finished files; parts left behind by a crash are completed on the next start. A file is rolled
+ * before a write would take it past the size limit, and once it is older than the age limit even when
+ * no events arrive. Sizes are soft limits: a single write is never split across files.
+ */
+@Slf4j
+final class RollingFileWriter implements AutoCloseable {
+
+    private static final String PART_SUFFIX = ".ndjson.part";
+    private static final String FILE_SUFFIX = ".ndjson";
+    private static final DateTimeFormatter FILE_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final long MAX_IDLE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxFileSize;
+    private final long maxFileAgeNanos;
+    private final int maxFiles;
+    private final RollingFileConfig.Fsync fsync;
+    private final long fsyncIntervalNanos;
+    private final long maxBufferBytes;
+    private final Thread committer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dataAvailable = lock.newCondition();
+    private final Condition spaceAvailable = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private PayloadBuffer filling = new PayloadBuffer(64 * 1024);
+    private long appended;
+    private long committedThrough;
+    private long failedFrom = -1;
+    private long failedThrough = -1;
+    private IOException failure;
+    private boolean closed;
+
+    // Owned by the committer thread
+    private PayloadBuffer writing = new PayloadBuffer(64 * 1024);
+    private FileChannel channel;
+    private Path partFile;
+    private long fileSize;
+    private long fileOpenedAtNanos;
+    private long forcedAtNanos;
+    private boolean dirty;
+    private int fileSequence;
+
+    RollingFileWriter(Path directory, String prefix, long maxFileSize, Duration maxFileAge, int maxFiles,
+                      RollingFileConfig.Fsync fsync, Duration fsyncInterval, long maxBufferBytes) throws IOException {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.maxFileSize = Math.max(1, maxFileSize);
+        this.maxFileAgeNanos = Math.max(1, maxFileAge.toNanos());
+        this.maxFiles = Math.max(0, maxFiles);
+        this.fsync = fsync;
+        this.fsyncIntervalNanos = Math.max(1, fsyncInterval.toNanos());
+        this.maxBufferBytes = Math.max(1, maxBufferBytes);
+        Files.createDirectories(directory);
+        completeLeftoverParts();
+        this.committer = new Thread(this::commitLoop, "openlineage-rolling-file-writer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Appends the bytes and a newline as one record. With {@code ALWAYS} fsync, returns once the record
+     * has been forced to disk; otherwise once it has been buffered.
+     */
+    void append(byte[] record, int length) throws IOException {
+        lock.lock();
+        try {
+            while (filling.size() >= maxBufferBytes && !closed) {
+                spaceAvailable.await();
+            }
+            if (closed) {
+                throw new IOException("Event file writer is closed");
+            }
+            filling.write(record, 0, length);
+            filling.write('\n');
+            long sequence = ++appended;
+            dataAvailable.signal();
+            if (fsync != RollingFileConfig.Fsync.ALWAYS) {
+                return;
+            }
+            while (committedThrough < sequence) {
+                committed.await();
+            }
+            if (sequence >= failedFrom && sequence <= failedThrough) {
+                throw new IOException("Failed to write event file", failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing event file");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes out everything appended so far, completes the current file and stops the committer.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            dataAvailable.signalAll();
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing event file");
+        }
+        finishFile();
+    }
+
+    private void commitLoop() {
+        while (true) {
+            long batchFrom;
+            long batchThrough;
+            boolean stopping;
+            lock.lock();
+            try {
+                if (filling.size() == 0 && !closed) {
+                    dataAvailable.awaitNanos(idleWaitNanos());
+                }
+                stopping = closed;
+                PayloadBuffer full = filling;
+                filling = writing;
+                writing = full;
+                batchFrom = committedThrough + 1;
+                batchThrough = appended;
+                spaceAvailable.signalAll();
+            } catch (InterruptedException e) {
+                continue; // only close() stops the committer
+            } finally {
+                lock.unlock();
+            }
+
+            IOException batchFailure = null;
+            try {
+                if (writing.size() > 0) {
+                    write(writing);
+                } else {
+                    rollIfExpired();
+                }
+                if (dirty && (fsync == RollingFileConfig.Fsync.ALWAYS
+                    || fsync == RollingFileConfig.Fsync.INTERVAL && System.nanoTime() - forcedAtNanos >= fsyncIntervalNanos)) {
+                    force();
+                }
+            } catch (IOException e) {
+                batchFailure = e;
+                log.warn("Failed to write {} OpenLineage event(s) to {}", batchThrough - batchFrom + 1, directory, e);
+                abandonFile();
+            }
+            writing.reset();
+
+            lock.lock();
+            try {
+                if (batchFailure != null && batchThrough >= batchFrom) {
+                    // Consecutive failed batches form one range so no waiter misses its failure
+                    if (failedThrough != batchFrom - 1) {
+                        failedFrom = batchFrom;
+                    }
+                    failedThrough = batchThrough;
+                    failure = batchFailure;
+                }
+                committedThrough = batchThrough;
+                committed.signalAll();
+                if (stopping && filling.size() == 0) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long idleWaitNanos() {
+        long wait = Math.min(MAX_IDLE_WAIT_NANOS, maxFileAgeNanos);
+        return fsync == RollingFileConfig.Fsync.INTERVAL ? Math.min(wait, fsyncIntervalNanos) : wait;
+    }
+
+    private void write(PayloadBuffer batch) throws IOException {
+        if (channel != null && (fileSize + batch.size() > maxFileSize && fileSize > 0
+            || System.nanoTime() - fileOpenedAtNanos >= maxFileAgeNanos)) {
+            finishFile();
+        }
+        if (channel == null) {
+            openFile();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch.array(), 0, batch.size());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        fileSize += batch.size();
+        dirty = true;
+    }
+
+    private void rollIfExpired() throws IOException {
+        if (channel != null && System.nanoTime() - fileOpenedAtNanos >= maxFileAgeNanos) {
+            finishFile();
+        }
+    }
+
+    private void force() throws IOException {
+        channel.force(false);
+        forcedAtNanos = System.nanoTime();
+        dirty = false;
+    }
+
+    private void openFile() throws IOException {
+        String time = FILE_TIME.format(Instant.now());
+        while (true) {
+            Path file = directory.resolve(String.format("%s-%s-%06d%s", prefix, time, fileSequence++, PART_SUFFIX));
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                partFile = file;
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Another writer or an earlier run used this name; try the next sequence number
+            }
+        }
+        fileSize = 0;
+        fileOpenedAtNanos = System.nanoTime();
+        forcedAtNanos = fileOpenedAtNanos;
+    }
+
+    private void finishFile() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (dirty && fsync != RollingFileConfig.Fsync.NEVER) {
+                force();
+            }
+        } finally {
+            channel.close();
+            channel = null;
+            dirty = false;
+        }
+        complete(partFile);
+        partFile = null;
+        deleteOldFiles();
+    }
+
+    private void abandonFile() {
+        // Start over in a new file; whatever made it into this one stays readable up to its last full line
+        try {
+            if (channel != null) {
+                channel.close();
+                complete(partFile);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close event file {}", partFile, e);
+        } finally {
+            channel = null;
+            partFile = null;
+            dirty = false;
+        }
+    }
+
+    private void complete(Path part) throws IOException {
+        if (Files.size(part) == 0) {
+            Files.delete(part);
+            return;
+        }
+        String name = part.getFileName().toString();
+        Path done = part.resolveSibling(name.substring(0, name.length() - PART_SUFFIX.length()) + FILE_SUFFIX);
+        Files.move(part, done, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void completeLeftoverParts() throws IOException {
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(directory, prefix + "-*" + PART_SUFFIX)) {
+            for (Path part : parts) {
+                log.info("Completing event file {} left behind by an earlier run", part);
+                complete(part);
+            }
+        }
+    }
+
+    private void deleteOldFiles() throws IOException {
+        if (maxFiles <= 0) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "-*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        // Names start with the UTC creation time, so name order is age order
+        Collections.sort(files);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            log.info("Deleting event file {}, more than {} files are kept", files.get(i), maxFiles);
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.openlineage.client.transports;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background thread that re-sends spooled events oldest first, one at a time, so they reach the
+ * endpoint in the order they were spooled. A record is only removed from the spool once the endpoint
+ * has accepted it; while the endpoint is unavailable the replayer waits between attempts.
+ */
+@Slf4j
+final class SpoolReplayer implements AutoCloseable {
+
+    private final EventSpool spool;
+    private final PayloadSender sender;
+    private final long intervalMillis;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    SpoolReplayer(EventSpool spool, PayloadSender sender, Duration interval) {
+        this.spool = spool;
+        this.sender = sender;
+        this.intervalMillis = Math.max(1, interval.toMillis());
+        this.thread = new Thread(this::run, "openlineage-http-insecure-spool-replayer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                byte[] payload = spool.peek();
+                if (payload == null) {
+                    spool.awaitRecords(intervalMillis, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                if (replay(payload)) {
+                    spool.commit();
+                } else {
+                    Thread.sleep(intervalMillis);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts to stop; otherwise keep going
+            } catch (IOException | RuntimeException e) {
+                log.warn("OpenLineage spool replay failed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Returns true if the record is done with, either delivered or permanently rejected.
+     */
+    private boolean replay(byte[] payload) {
+        try {
+            HttpResponse response = sender.send(payload, 0, payload.length);
+            if (response.isSuccessful()) {
+                return true;
+            }
+            if (!RetryPolicy.isRetryable(response)) {
+                log.warn("Dropping spooled OpenLineage event rejected with response code {}", response.getStatusCode());
+                return true;
+            }
+            return false;
+        } catch (IOException e) {
+            log.debug("OpenLineage endpoint still unavailable, spooled events kept: {}", e.toString());
+            return false;
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(intervalMillis);
+        } catch (InterruptedException e) {
+            // close() interrupts to stop
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.openlineage.client.transports;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing of the stages one sampled event went through on the sending thread. The transport starts a
+ * trace before serializing, the connection code adds to the stages it runs through, and the trace is
+ * handed to a {@link StageTraceSink} when the event is done. Stages that ran more than once, e.g.
+ * on retries, accumulate; stages that did not run, e.g. connect on a pooled connection, stay at zero.
+ */
+final class StageTrace {
+
+    enum Stage {
+        SERIALIZE,
+        DNS,
+        CONNECT,
+        TLS,
+        WRITE,
+        RESPONSE
+    }
+
+    private static final ThreadLocal<StageTrace> CURRENT = new ThreadLocal<>();
+
+    private final String eventType;
+    private final long startNanos = System.nanoTime();
+    private final long[] stageNanos = new long[Stage.values().length];
+    private long totalNanos;
+    private int bytes;
+    private int attempts;
+    private int statusCode;
+    private boolean failed;
+
+    private StageTrace(String eventType) {
+        this.eventType = eventType;
+    }
+
+    /**
+     * Starts tracing on this thread; must be followed by {@link #end()}.
+     */
+    static StageTrace begin(String eventType) {
+        StageTrace trace = new StageTrace(eventType);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Adds the time since startNanos to the stage, if the current thread is tracing.
+     */
+    static void record(Stage stage, long startNanos) {
+        StageTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.stageNanos[stage.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+
+    /**
+     * Notes a completed request attempt, if the current thread is tracing.
+     */
+    static void recordResponse(int bytes, int statusCode) {
+        StageTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.attempts++;
+            trace.bytes = bytes;
+            trace.statusCode = statusCode;
+        }
+    }
+
+    void end(boolean failed) {
+        CURRENT.remove();
+        this.totalNanos = System.nanoTime() - startNanos;
+        this.failed = failed;
+    }
+
+    String getEventType() {
+        return eventType;
+    }
+
+    long getMicros(Stage stage) {
+        return TimeUnit.NANOSECONDS.toMicros(stageNanos[stage.ordinal()]);
+    }
+
+    long getTotalMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(totalNanos);
+    }
+
+    int getBytes() {
+        return bytes;
+    }
+
+    int getAttempts() {
+        return attempts;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Renders the trace as space-separated key=value pairs, for log-based pipelines.
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder(200);
+        line.append("event=").append(eventType);
+        for (Stage stage : Stage.values()) {
+            line.append(' ').append(stage.name().toLowerCase(Locale.ROOT)).append("Micros=")
+                .append(getMicros(stage));
+        }
+        line.append(" totalMicros=").append(getTotalMicros())
+            .append(" bytes=").append(bytes)
+            .append(" attempts=").append(attempts)
+            .append(" status=").append(statusCode)
+            .append(" failed=").append(failed);
+        return line.toString();
+    }
+}
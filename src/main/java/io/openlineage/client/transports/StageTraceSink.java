@@ -0,0 +1,8 @@
+package io.openlineage.client.transports;
+
+/**
+ * Receives completed stage traces.
+ */
+interface StageTraceSink {
+    void record(StageTrace trace);
+}
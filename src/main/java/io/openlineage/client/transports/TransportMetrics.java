@@ -0,0 +1,160 @@
+package io.openlineage.client.transports;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters, gauges and the request latency histogram of one transport. Updates are striped
+ * {@link LongAdder} increments, so recording from many sender threads does not contend. Queue depth,
+ * spool size, queue drops and retries are read from their owners when asked for.
+ */
+final class TransportMetrics implements InsecureHttpTransportMXBean {
+
+    private final LongAdder eventsEmitted = new LongAdder();
+    private final LongAdder eventsFailed = new LongAdder();
+    private final LongAdder eventsDropped = new LongAdder();
+    private final LongAdder eventsFiltered = new LongAdder();
+    private final LongAdder eventsSpooled = new LongAdder();
+    private final LongAdder requestsSucceeded = new LongAdder();
+    private final LongAdder requestsFailed = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+
+    private final IntSupplier queueDepth;
+    private final LongSupplier spoolSizeBytes;
+    private final LongSupplier queueDropped;
+    private final LongSupplier retries;
+    private final IntSupplier concurrencyLimit;
+
+    TransportMetrics(IntSupplier queueDepth, LongSupplier spoolSizeBytes, LongSupplier queueDropped,
+                     LongSupplier retries, IntSupplier concurrencyLimit) {
+        this.queueDepth = queueDepth;
+        this.spoolSizeBytes = spoolSizeBytes;
+        this.queueDropped = queueDropped;
+        this.retries = retries;
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    void onEmit() {
+        eventsEmitted.increment();
+    }
+
+    void onEventFailed() {
+        eventsFailed.increment();
+    }
+
+    void onEventDropped() {
+        eventsDropped.increment();
+    }
+
+    void onEventFiltered() {
+        eventsFiltered.increment();
+    }
+
+    void onEventSpooled() {
+        eventsSpooled.increment();
+    }
+
+    void onRequestStart() {
+        inFlightRequests.incrementAndGet();
+    }
+
+    void onRequestEnd(long durationNanos, boolean success, int length) {
+        inFlightRequests.decrementAndGet();
+        requestLatency.record(durationNanos);
+        if (success) {
+            requestsSucceeded.increment();
+            bytesSent.add(length);
+        } else {
+            requestsFailed.increment();
+        }
+    }
+
+    @Override
+    public long getEventsEmitted() {
+        return eventsEmitted.sum();
+    }
+
+    @Override
+    public long getEventsFailed() {
+        return eventsFailed.sum();
+    }
+
+    @Override
+    public long getEventsDropped() {
+        return eventsDropped.sum() + queueDropped.getAsLong();
+    }
+
+    @Override
+    public long getEventsFiltered() {
+        return eventsFiltered.sum();
+    }
+
+    @Override
+    public long getEventsSpooled() {
+        return eventsSpooled.sum();
+    }
+
+    @Override
+    public long getRequestsSucceeded() {
+        return requestsSucceeded.sum();
+    }
+
+    @Override
+    public long getRequestsFailed() {
+        return requestsFailed.sum();
+    }
+
+    @Override
+    public long getRequestsRetried() {
+        return retries.getAsLong();
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    @Override
+    public int getConcurrencyLimit() {
+        return concurrencyLimit.getAsInt();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public long getSpoolSizeBytes() {
+        return spoolSizeBytes.getAsLong();
+    }
+
+    @Override
+    public long getRequestLatencyP50Micros() {
+        return requestLatency.getPercentileMicros(0.5);
+    }
+
+    @Override
+    public long getRequestLatencyP99Micros() {
+        return requestLatency.getPercentileMicros(0.99);
+    }
+
+    @Override
+    public long getRequestLatencyP999Micros() {
+        return requestLatency.getPercentileMicros(0.999);
+    }
+
+    @Override
+    public long getRequestLatencyMaxMicros() {
+        return requestLatency.getMaxMicros();
+    }
+}
@@ -12,14 +12,13 @@ public class DirectSslTestDemo {
         System.out.println("========================");
         
         try {
-            // Create the transport builder (this will call setupGlobalInsecureSSL)
+            // Creating a transport sets up its insecure SSL context, scoped to the transport's own connections
             InsecureHttpTransportBuilder builder = new InsecureHttpTransportBuilder();
-            // Trigger the SSL setup by creating a transport
             builder.build(builder.getConfig());
             
-            System.out.println("✅ SSL bypass setup completed");
+            System.out.println("✅ Transport created");
             
-            // Test direct HTTPS connection to a bad SSL site
+            // Other HTTPS clients in the JVM must still validate certificates
             System.out.println("\n🔗 Testing direct connection to https://self-signed.badssl.com/");
             
             URL url = new URL("https://self-signed.badssl.com/");
@@ -29,8 +28,8 @@ public class DirectSslTestDemo {
             connection.setReadTimeout(5000);
             
             int responseCode = connection.getResponseCode();
-            System.out.println("✅ SUCCESS! Response code: " + responseCode);
-            System.out.println("🎯 SSL bypass is working for direct connections!");
+            System.out.println("❌ Response code: " + responseCode);
+            System.out.println("🔧 SSL bypass leaked into direct connections; JVM-wide defaults were changed");
             
             // Read first few lines of response
             BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
@@ -41,10 +40,10 @@ public class DirectSslTestDemo {
             reader.close();
             
         } catch (javax.net.ssl.SSLHandshakeException e) {
-            System.out.println("❌ SSL handshake failed: " + e.getMessage());
-            System.out.println("🔧 SSL bypass is NOT working for direct connections");
+            System.out.println("✅ SSL handshake failed as expected: " + e.getMessage());
+            System.out.println("🎯 Direct connections keep full certificate validation");
         } catch (Exception e) {
-            System.out.println("ℹ️  Other error (may still indicate SSL bypass worked): " + e.getMessage());
+            System.out.println("ℹ️  Other error: " + e.getMessage());
         }
     }
 }
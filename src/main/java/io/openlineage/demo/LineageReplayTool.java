@@ -0,0 +1,350 @@
+package io.openlineage.demo;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientUtils;
+import io.openlineage.client.transports.InsecureHttpConfig;
+import io.openlineage.client.transports.InsecureHttpTransport;
+import io.openlineage.client.transports.InsecureHttpTransportMXBean;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Replays archived lineage events into a collector through the insecure HTTP transport.
+ * <p>
+ * Input files hold either one event per line (NDJSON, as written by the rolling-file transport) or a
+ * JSON array of events (a batch request body), optionally gzip-compressed. They are read with a
+ * streaming parser, one event at a time, so file size does not matter. Sending is asynchronous on
+ * {@code --parallelism} threads, with the transport's batching and rate limits.
+ * <p>
+ * With {@code --checkpoint}, the position after the last event known to be sent is saved every
+ * {@code --checkpoint-interval} events, and a later run with the same inputs continues from there.
+ * Delivery is at least once: events after the last checkpoint are sent again after an interruption.
+ * If queued events are still not sent after {@code --flush-timeout}, the collector is taken to be down
+ * and the replay stops at the last checkpoint.
+ */
+public class LineageReplayTool {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Duration FLUSH_WAIT = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_FLUSH_TIMEOUT = Duration.ofMinutes(10);
+
+    private final InsecureHttpTransport transport;
+    private final Path checkpointFile;
+    private final int checkpointInterval;
+    private final Duration flushTimeout;
+    private final ObjectMapper objectMapper = OpenLineageClientUtils.newObjectMapper();
+
+    private long eventsReplayed;
+    private long eventsSinceCheckpoint;
+    private long failuresAtCheckpoint;
+
+    /**
+     * @param checkpointFile where progress is saved and resumed from, or null to always start over
+     */
+    LineageReplayTool(InsecureHttpConfig config, Path checkpointFile, int checkpointInterval) {
+        this(config, checkpointFile, checkpointInterval, DEFAULT_FLUSH_TIMEOUT);
+    }
+
+    /**
+     * @param checkpointFile where progress is saved and resumed from, or null to always start over
+     * @param flushTimeout how long to wait for queued events to be sent at a checkpoint before giving up
+     */
+    LineageReplayTool(InsecureHttpConfig config, Path checkpointFile, int checkpointInterval, Duration flushTimeout) {
+        config.setAsync(true);
+        config.setMetrics(true);
+        config.setMetricsJmx(false);
+        this.transport = new InsecureHttpTransport(config);
+        this.checkpointFile = checkpointFile;
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+        this.flushTimeout = flushTimeout;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🔁 OpenLineage Event Replay");
+        System.out.println("===========================");
+
+        Map<String, List<String>> options = new HashMap<>();
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--") && i + 1 < args.length) {
+                options.computeIfAbsent(args[i].substring(2), key -> new ArrayList<>()).add(args[++i]);
+            } else {
+                inputs.add(Paths.get(args[i]));
+            }
+        }
+        if (!options.containsKey("url") || inputs.isEmpty()) {
+            printUsage();
+            System.exit(2);
+        }
+
+        InsecureHttpConfig config = new InsecureHttpConfig();
+        config.setUrl(URI.create(option(options, "url", null)));
+        config.setTimeout(Duration.parse(option(options, "timeout", "PT30S")));
+        int parallelism = Integer.parseInt(option(options, "parallelism", "4"));
+        config.setSenderThreads(parallelism);
+        config.setMaxConnections(parallelism);
+        int batchSize = Integer.parseInt(option(options, "batch-size", "0"));
+        if (batchSize > 1) {
+            config.setBatch(true);
+            config.setBatchMaxEvents(batchSize);
+        }
+        config.setRateLimitRequestsPerSecond(Double.parseDouble(option(options, "requests-per-second", "0")));
+        config.setRateLimitBytesPerSecond(Long.parseLong(option(options, "bytes-per-second", "0")));
+        try {
+            config.setHeaders(parseHeaders(options.getOrDefault("header", Collections.emptyList())));
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            printUsage();
+            System.exit(2);
+        }
+        String checkpoint = option(options, "checkpoint", null);
+        int checkpointInterval = Integer.parseInt(option(options, "checkpoint-interval", "10000"));
+        Duration flushTimeout = Duration.parse(option(options, "flush-timeout", DEFAULT_FLUSH_TIMEOUT.toString()));
+
+        System.out.println("📡 Target: " + config.getUrl());
+        System.out.println("   Parallelism: " + parallelism + ", batch size: " + Math.max(1, batchSize));
+        long start = System.nanoTime();
+        LineageReplayTool tool = new LineageReplayTool(config, checkpoint != null ? Paths.get(checkpoint) : null,
+            checkpointInterval, flushTimeout);
+        int status = 0;
+        try {
+            long replayed = tool.replay(inputs);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%n✅ Replayed %d events in %.1f s (%.0f events/s)%n", replayed, seconds,
+                replayed / Math.max(seconds, 1e-3));
+        } catch (Exception e) {
+            System.err.println("\n❌ Replay stopped: " + e.getMessage());
+            if (checkpoint != null) {
+                System.err.println("   Run again with the same arguments to resume from " + checkpoint);
+            }
+            status = 1;
+        } finally {
+            tool.close();
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Sends every event of the given files, and of the event files in the given directories, in name
+     * order. Returns the number of events sent, not counting those skipped because of the checkpoint.
+     */
+    long replay(List<Path> inputs) throws IOException {
+        List<Path> files = expand(inputs);
+        String resumeFile = null;
+        long resumeOffset = 0;
+        if (checkpointFile != null && Files.exists(checkpointFile)) {
+            Properties checkpoint = new Properties();
+            try (InputStream in = Files.newInputStream(checkpointFile)) {
+                checkpoint.load(in);
+            }
+            String checkpointed = checkpoint.getProperty("file");
+            if (files.stream().noneMatch(file -> file.toString().equals(checkpointed))) {
+                throw new IOException("Checkpoint " + checkpointFile + " refers to " + checkpointed
+                    + ", which is not among the input files");
+            }
+            resumeFile = checkpointed;
+            resumeOffset = Long.parseLong(checkpoint.getProperty("offset", "0"));
+        }
+        for (Path file : files) {
+            if (resumeFile != null) {
+                if (!file.toString().equals(resumeFile)) {
+                    continue; // finished in an earlier run
+                }
+                resumeFile = null;
+                replayFile(file, resumeOffset);
+            } else {
+                replayFile(file, 0);
+            }
+        }
+        return eventsReplayed;
+    }
+
+    /**
+     * Waits for queued events to be sent and releases the transport.
+     */
+    void close() {
+        transport.close();
+    }
+
+    private void replayFile(Path file, long resumeOffset) throws IOException {
+        boolean compressed = file.getFileName().toString().endsWith(".gz");
+        long base = 0;
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        if (compressed) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        } else if (resumeOffset > 0 && !startsWithArray(file)) {
+            // Lines are independent documents, so the parser can start right at the checkpoint
+            skipFully(in, resumeOffset);
+            base = resumeOffset;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            long position = base;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a lineage event at byte "
+                        + (base + parser.getTokenLocation().getByteOffset()) + " of " + file);
+                }
+                if (base + parser.getTokenLocation().getByteOffset() < resumeOffset) {
+                    // Sent before the checkpoint; skip without binding it
+                    parser.skipChildren();
+                } else {
+                    emit(objectMapper.readTree(parser), file);
+                    position = base + parser.getCurrentLocation().getByteOffset();
+                    if (++eventsSinceCheckpoint >= checkpointInterval) {
+                        checkpoint(file, position);
+                    }
+                }
+                token = parser.nextToken();
+            }
+            checkpoint(file, Math.max(position, resumeOffset));
+        }
+    }
+
+    private void emit(JsonNode event, Path file) throws IOException {
+        // Run events have a run, dataset events a dataset; anything else is a job event
+        if (event.has("run")) {
+            transport.emit(objectMapper.treeToValue(event, OpenLineage.RunEvent.class));
+        } else if (event.has("dataset")) {
+            transport.emit(objectMapper.treeToValue(event, OpenLineage.DatasetEvent.class));
+        } else if (event.has("job")) {
+            transport.emit(objectMapper.treeToValue(event, OpenLineage.JobEvent.class));
+        } else {
+            throw new IOException("Not a lineage event in " + file + ": " + event.fieldNames().next());
+        }
+        eventsReplayed++;
+    }
+
+    private void checkpoint(Path file, long offset) throws IOException {
+        eventsSinceCheckpoint = 0;
+        long deadline = System.nanoTime() + flushTimeout.toNanos();
+        while (!transport.flush(Duration.ofNanos(Math.max(0,
+                Math.min(FLUSH_WAIT.toNanos(), deadline - System.nanoTime()))))) {
+            if (deadline - System.nanoTime() <= 0) {
+                throw new IOException("Queued events were not sent within " + flushTimeout
+                    + ", the collector may be down; stopped before " + file + " byte " + offset);
+            }
+            System.out.println("⏳ Waiting for queued events to be sent...");
+        }
+        InsecureHttpTransportMXBean metrics = transport.getMetrics();
+        long failures = metrics.getEventsFailed() + metrics.getEventsDropped();
+        if (failures > failuresAtCheckpoint) {
+            throw new IOException((failures - failuresAtCheckpoint) + " event(s) could not be sent before "
+                + file + " byte " + offset);
+        }
+        failuresAtCheckpoint = failures;
+        if (checkpointFile == null) {
+            return;
+        }
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("file", file.toString());
+        checkpoint.setProperty("offset", Long.toString(offset));
+        Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            checkpoint.store(out, "OpenLineage replay position");
+        }
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<Path> expand(List<Path> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path input : inputs) {
+            if (!Files.isDirectory(input)) {
+                files.add(input);
+                continue;
+            }
+            try (Stream<Path> children = Files.list(input)) {
+                files.addAll(children.filter(Files::isRegularFile)
+                    .filter(path -> isEventFile(path.getFileName().toString()))
+                    .sorted()
+                    .collect(Collectors.toList()));
+            }
+        }
+        return files;
+    }
+
+    private static boolean isEventFile(String name) {
+        String uncompressed = name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+        return uncompressed.endsWith(".ndjson") || uncompressed.endsWith(".jsonl") || uncompressed.endsWith(".json");
+    }
+
+    private static boolean startsWithArray(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            int b;
+            do {
+                b = in.read();
+            } while (b == ' ' || b == '\t' || b == '\r' || b == '\n');
+            return b == '[';
+        }
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new IOException("File is shorter than the checkpoint offset " + bytes);
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Parses {@code --header} values of the form name=value.
+     */
+    static Map<String, String> parseHeaders(List<String> values) {
+        Map<String, String> headers = new HashMap<>();
+        for (String header : values) {
+            int separator = header.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed --header " + header + ", expected <name>=<value>");
+            }
+            headers.put(header.substring(0, separator), header.substring(separator + 1));
+        }
+        return headers;
+    }
+
+    private static String option(Map<String, List<String>> options, String name, String defaultValue) {
+        List<String> values = options.get(name);
+        return values != null ? values.get(values.size() - 1) : defaultValue;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: LineageReplayTool --url <collector url> [options] <file or directory>...");
+        System.out.println();
+        System.out.println("  --parallelism <n>           concurrent requests (default 4)");
+        System.out.println("  --batch-size <n>            events per batch request (default 1, no batching)");
+        System.out.println("  --requests-per-second <r>   request rate limit (default 0, unlimited)");
+        System.out.println("  --bytes-per-second <b>      body bytes rate limit (default 0, unlimited)");
+        System.out.println("  --header <name>=<value>     request header, may be repeated");
+        System.out.println("  --timeout <duration>        request timeout (default PT30S)");
+        System.out.println("  --checkpoint <file>         save progress to and resume from this file");
+        System.out.println("  --checkpoint-interval <n>   events between checkpoints (default 10000)");
+        System.out.println("  --flush-timeout <duration>  give up if queued events are not sent in time (default PT10M)");
+    }
+}
@@ -0,0 +1,136 @@
+package io.openlineage.client.transports;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Sender backed by {@code java.net.http.HttpClient} (Java 11+). HTTPS endpoints are reached over
+ * HTTP/2 when the server offers it, so concurrent requests from all sender threads are multiplexed
+ * over one connection instead of each holding a connection of its own. Requests are issued with
+ * {@code sendAsync}; the calling thread only waits for the response status.
+ * <p>
+ * Compiled from src/main/java11 and loaded reflectively, so the transport still runs on Java 8.
+ */
+final class JdkHttpClientSender implements HttpSender {
+
+    // Headers the client manages itself and refuses to have set
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+        "connection", "content-length", "date", "expect", "host", "upgrade", "via", "warning"));
+
+    private final HttpClient client;
+    private final URI url;
+    private final String[] headers;
+    private final String[] compressedHeaders;
+    private final RequestCompressor compressor;
+
+    JdkHttpClientSender(URI url, String contentType, Map<String, String> headers, RequestCompressor compressor,
+                        SSLContext sslContext, Duration connectTimeout) {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .sslContext(sslContext)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        this.url = url;
+        this.headers = buildHeaders(contentType, null, headers);
+        this.compressedHeaders = compressor != null
+            ? buildHeaders(contentType, compressor.getContentEncoding(), headers)
+            : null;
+        this.compressor = compressor;
+    }
+
+    @Override
+    public HttpResponse post(byte[] body, int offset, int length, int timeoutMillis) throws IOException {
+        String[] requestHeaders = headers;
+        if (compressor != null && compressor.shouldCompress(length)) {
+            PayloadBuffer compressed = compressor.compress(body, offset, length);
+            requestHeaders = compressedHeaders;
+            body = compressed.array();
+            offset = 0;
+            length = compressed.size();
+        }
+        // The publisher reads the caller's buffer, which stays untouched until the response has arrived
+        HttpRequest request = HttpRequest.newBuilder(url)
+            .timeout(Duration.ofMillis(timeoutMillis))
+            .headers(requestHeaders)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body, offset, length))
+            .build();
+        // The client does not expose connect or TLS timings, so the whole exchange counts as the response stage
+        long start = System.nanoTime();
+        CompletableFuture<java.net.http.HttpResponse<Void>> future =
+            client.sendAsync(request, java.net.http.HttpResponse.BodyHandlers.discarding());
+        try {
+            java.net.http.HttpResponse<Void> response = future.get();
+            StageTrace.record(StageTrace.Stage.RESPONSE, start);
+            Map<String, String> responseHeaders = new HashMap<>();
+            for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+                if (!header.getValue().isEmpty()) {
+                    responseHeaders.put(header.getKey().toLowerCase(Locale.ROOT), header.getValue().get(0));
+                }
+            }
+            return new HttpResponse(response.statusCode(), responseHeaders);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the OpenLineage endpoint");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        // HttpClient has no close() before Java 21; its daemon threads and connections go with the client
+    }
+
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof HttpTimeoutException) {
+            // Surface timeouts the way sockets do so the retry policy treats both engines alike
+            SocketTimeoutException timeout = new SocketTimeoutException(cause.getMessage());
+            timeout.initCause(cause);
+            return timeout;
+        }
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        return new IOException("HTTP request failed", cause);
+    }
+
+    private static String[] buildHeaders(String contentType, String contentEncoding, Map<String, String> headers) {
+        // Configured headers override the defaults, as with the socket engine
+        Map<String, String> allHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        allHeaders.put("Content-Type", contentType);
+        allHeaders.put("User-Agent", "openlineage-transport-http-insecure");
+        if (headers != null) {
+            allHeaders.putAll(headers);
+        }
+        if (contentEncoding != null) {
+            allHeaders.put("Content-Encoding", contentEncoding);
+        }
+        allHeaders.keySet().removeIf(name -> RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT)));
+        String[] pairs = new String[allHeaders.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> header : allHeaders.entrySet()) {
+            pairs[i++] = header.getKey();
+            pairs[i++] = header.getValue();
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,67 @@
+package io.openlineage.client.transports;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits stage traces as {@code io.openlineage.EmitTrace} JFR events, so they show up next to GC,
+ * socket and thread events in a flight recording. Compiled from src/main/java11 and loaded reflectively.
+ */
+final class JfrStageTraceSink implements StageTraceSink {
+
+    @Override
+    public void record(StageTrace trace) {
+        EmitTraceEvent event = new EmitTraceEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.eventType = trace.getEventType();
+        event.serialize = trace.getMicros(StageTrace.Stage.SERIALIZE);
+        event.dns = trace.getMicros(StageTrace.Stage.DNS);
+        event.connect = trace.getMicros(StageTrace.Stage.CONNECT);
+        event.tls = trace.getMicros(StageTrace.Stage.TLS);
+        event.write = trace.getMicros(StageTrace.Stage.WRITE);
+        event.response = trace.getMicros(StageTrace.Stage.RESPONSE);
+        event.total = trace.getTotalMicros();
+        event.bytes = trace.getBytes();
+        event.attempts = trace.getAttempts();
+        event.status = trace.getStatusCode();
+        event.failed = trace.isFailed();
+        event.commit();
+    }
+
+    @Name("io.openlineage.EmitTrace")
+    @Label("OpenLineage Emit Trace")
+    @Category({"OpenLineage", "Transport"})
+    @Description("Time spent in each stage of sending one sampled OpenLineage event")
+    static final class EmitTraceEvent extends Event {
+        @Label("Event Type")
+        String eventType;
+        @Label("Serialize") @Timespan(Timespan.MICROSECONDS)
+        long serialize;
+        @Label("DNS") @Timespan(Timespan.MICROSECONDS)
+        long dns;
+        @Label("Connect") @Timespan(Timespan.MICROSECONDS)
+        long connect;
+        @Label("TLS Handshake") @Timespan(Timespan.MICROSECONDS)
+        long tls;
+        @Label("Write") @Timespan(Timespan.MICROSECONDS)
+        long write;
+        @Label("Response") @Timespan(Timespan.MICROSECONDS)
+        long response;
+        @Label("Total") @Timespan(Timespan.MICROSECONDS)
+        long total;
+        @Label("Request Bytes")
+        int bytes;
+        @Label("Attempts")
+        int attempts;
+        @Label("Status Code")
+        int status;
+        @Label("Failed")
+        boolean failed;
+    }
+}
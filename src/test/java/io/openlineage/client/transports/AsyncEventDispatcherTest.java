@@ -0,0 +1,170 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded queue behind the transport's async mode.
+ */
+public class AsyncEventDispatcherTest {
+
+    @Test
+    public void testDropNewestKeepsQueuedItems() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> sent = new CopyOnWriteArrayList<>();
+        AsyncEventDispatcher<Integer> dispatcher = new AsyncEventDispatcher<>(2, 1,
+            InsecureHttpConfig.OverflowPolicy.DROP_NEWEST, "test-sender", item -> {
+                await(release);
+                sent.add(item);
+            });
+
+        dispatcher.submit(1);
+        waitForQueueDepth(dispatcher, 0); // item 1 is now held by the sender
+        dispatcher.submit(2);
+        dispatcher.submit(3);
+        dispatcher.submit(4);
+        release.countDown();
+
+        assertTrue(dispatcher.flush(Duration.ofSeconds(5)));
+        assertEquals(1, dispatcher.getDroppedCount());
+        assertEquals(java.util.Arrays.asList(1, 2, 3), sent);
+        dispatcher.close(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void testDropOldestEvictsHeadOfQueue() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> sent = new CopyOnWriteArrayList<>();
+        AsyncEventDispatcher<Integer> dispatcher = new AsyncEventDispatcher<>(2, 1,
+            InsecureHttpConfig.OverflowPolicy.DROP_OLDEST, "test-sender", item -> {
+                await(release);
+                sent.add(item);
+            });
+
+        dispatcher.submit(1);
+        waitForQueueDepth(dispatcher, 0);
+        dispatcher.submit(2);
+        dispatcher.submit(3);
+        dispatcher.submit(4);
+        release.countDown();
+
+        assertTrue(dispatcher.flush(Duration.ofSeconds(5)));
+        assertEquals(1, dispatcher.getDroppedCount());
+        assertEquals(java.util.Arrays.asList(1, 3, 4), sent);
+        dispatcher.close(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void testProducerBlockedDuringCloseDropsItsItem() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncEventDispatcher<Integer> dispatcher = new AsyncEventDispatcher<>(1, 1,
+            InsecureHttpConfig.OverflowPolicy.BLOCK, "test-sender", item -> await(release));
+        dispatcher.submit(1);
+        waitForQueueDepth(dispatcher, 0);
+        dispatcher.submit(2);
+
+        CountDownLatch rejected = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                dispatcher.submit(3);
+            } catch (io.openlineage.client.OpenLineageClientException e) {
+                rejected.countDown();
+            }
+        });
+        producer.start();
+        Thread.sleep(100); // the producer is now blocked on the full queue
+
+        dispatcher.close(Duration.ofMillis(50));
+        assertTrue(rejected.await(5, TimeUnit.SECONDS), "the blocked producer is woken and told");
+        assertTrue(dispatcher.flush(Duration.ofSeconds(1)), "no item is left pending forever");
+        assertEquals(2, dispatcher.getDroppedCount());
+        producer.join();
+    }
+
+    @Test
+    public void testVirtualSenderThreadsWhenSupported() throws Exception {
+        boolean supported = AsyncEventDispatcher.virtualThreadFactory("probe-") != null;
+        List<Thread> senders = new CopyOnWriteArrayList<>();
+        AsyncEventDispatcher<Integer> dispatcher = new AsyncEventDispatcher<>(100, 50,
+            InsecureHttpConfig.OverflowPolicy.BLOCK, "test-sender", item -> senders.add(Thread.currentThread()),
+            null, true);
+        for (int i = 0; i < 100; i++) {
+            dispatcher.submit(i);
+        }
+        assertTrue(dispatcher.flush(Duration.ofSeconds(5)));
+        dispatcher.close(Duration.ofSeconds(1));
+
+        assertEquals(100, senders.size());
+        for (Thread sender : senders) {
+            assertEquals(supported, isVirtual(sender));
+            assertTrue(sender.isDaemon());
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false; // before Java 21 every thread is a platform thread
+        }
+    }
+
+    @Test
+    public void testAsyncTransportDeliversOnCloseAndRejectsAfterwards() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setDelayMillis(50);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setAsync(true);
+            config.setCloseTimeout(Duration.ofSeconds(10));
+
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            long start = System.nanoTime();
+            for (int i = 0; i < 5; i++) {
+                transport.emit(runEvent());
+            }
+            // Emitting must not wait on the slow endpoint
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 250);
+
+            transport.close();
+            assertEquals(5, server.getBodies().size());
+            assertThrows(io.openlineage.client.OpenLineageClientException.class, () -> transport.emit(runEvent()));
+        }
+    }
+
+    private static OpenLineage.RunEvent runEvent() {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name("async-test").build())
+            .build();
+    }
+
+    private static void waitForQueueDepth(AsyncEventDispatcher<?> dispatcher, int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.getQueueDepth() != depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientException;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for circuit breaker state transitions and fail-fast emits.
+ */
+public class CircuitBreakerTest {
+
+    @Test
+    public void testOpensOnFailureRateAndRecoversThroughHalfOpen() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(0.5, 1.0, Duration.ofSeconds(10), 4, 4,
+            Duration.ofMillis(50), 2);
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess(0);
+        }
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure(0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure(0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        Thread.sleep(60);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "only the configured number of probes may run");
+        breaker.onSuccess(0);
+        breaker.onSuccess(0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testFailedProbeReopens() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(0.5, 1.0, Duration.ofSeconds(10), 2, 2,
+            Duration.ofMillis(20), 1);
+        breaker.tryAcquire();
+        breaker.onFailure(0);
+        breaker.tryAcquire();
+        breaker.onFailure(0);
+        Thread.sleep(30);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure(0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testSlowCallsOpenTheBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(0.5, 0.5, Duration.ofMillis(100), 2, 2,
+            Duration.ofMinutes(1), 1);
+        long slow = Duration.ofMillis(200).toNanos();
+        breaker.tryAcquire();
+        breaker.onSuccess(slow);
+        breaker.tryAcquire();
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testOpenBreakerFailsFastWithoutContactingEndpoint() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setResponseCode(503);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setCircuitBreaker(true);
+            config.setCircuitBreakerMinimumCalls(2);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+
+            assertThrows(OpenLineageClientException.class, () -> transport.emit(runEvent()));
+            assertThrows(OpenLineageClientException.class, () -> transport.emit(runEvent()));
+            OpenLineageClientException fastFailure =
+                assertThrows(OpenLineageClientException.class, () -> transport.emit(runEvent()));
+            assertTrue(fastFailure.getCause() instanceof CircuitBreakerOpenException);
+            assertEquals(2, server.getBodies().size());
+
+            config.setCircuitBreakerFallback(InsecureHttpConfig.CircuitBreakerFallback.DROP);
+            assertDoesNotThrow(() -> transport.emit(runEvent()));
+            transport.close();
+        }
+    }
+
+    private static OpenLineage.RunEvent runEvent() {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name("breaker-test").build())
+            .build();
+    }
+}
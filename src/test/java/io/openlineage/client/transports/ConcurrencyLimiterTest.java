@@ -0,0 +1,124 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the AIMD limit on requests in flight.
+ */
+public class ConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long WAIT = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    public void testLimitGrowsWhileFastRequestsUseIt() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 8, Duration.ofSeconds(1));
+        for (int round = 0; round < 200; round++) {
+            int slots = limiter.getLimit();
+            for (int i = 0; i < slots; i++) {
+                limiter.acquire(WAIT);
+            }
+            for (int i = 0; i < slots; i++) {
+                limiter.release(FAST, false);
+            }
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void testLimitDoesNotGrowWhenMostlyIdle() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 1, 64, Duration.ofSeconds(1));
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire(WAIT);
+            limiter.release(FAST, false);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void testOverloadAndSlowResponsesCutTheLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 2, 64, Duration.ofMillis(100));
+        limiter.acquire(WAIT);
+        limiter.release(FAST, true);
+        assertEquals(18, limiter.getLimit());
+        limiter.acquire(WAIT);
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(500), false);
+        assertEquals(16, limiter.getLimit());
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire(WAIT);
+            limiter.release(FAST, true);
+        }
+        assertEquals(2, limiter.getLimit(), "never below the minimum");
+    }
+
+    @Test
+    public void testCallersBeyondTheLimitWait() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1));
+        limiter.acquire(WAIT);
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire(WAIT);
+                acquired.countDown();
+                limiter.release(FAST, false);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        waiter.start();
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        limiter.release(FAST, false);
+        assertTrue(acquired.await(1, TimeUnit.SECONDS));
+        waiter.join();
+    }
+
+    @Test
+    public void testWaitForASlotIsBounded() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1));
+        limiter.acquire(WAIT);
+        IOException e = assertThrows(IOException.class, () -> limiter.acquire(TimeUnit.MILLISECONDS.toNanos(50)));
+        assertTrue(e.getMessage().startsWith("Timed out"), e.getMessage());
+        limiter.release(FAST, false);
+        limiter.acquire(0);
+    }
+
+    @Test
+    public void testTransportSizesThreadsAndConnectionsToTheMaximumLimit() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setDelayMillis(200);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setAsync(true);
+            config.setSenderThreads(1);
+            config.setMaxConnections(1);
+            config.setAdaptiveConcurrency(true);
+            config.setConcurrencyInitialLimit(4);
+            config.setConcurrencyMaxLimit(4);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+            for (int i = 0; i < 4; i++) {
+                transport.emit(ol.newRunEventBuilder()
+                    .eventTime(ZonedDateTime.now())
+                    .eventType(OpenLineage.RunEvent.EventType.RUNNING)
+                    .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+                    .job(ol.newJobBuilder().namespace("test-namespace").name("test-job-name").build())
+                    .build());
+            }
+            assertTrue(transport.flush(Duration.ofSeconds(5)));
+            transport.close();
+            assertEquals(4, server.getBodies().size());
+            assertEquals(4, server.getRemotePorts().size(), "the four requests were in flight together");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for opening connections before the first event is sent.
+ */
+public class ConnectionPrewarmTest {
+
+    private static final byte[] BODY = "{\"eventType\":\"START\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testFirstRequestUsesAWarmedConnection() throws IOException {
+        try (StubLineageServer server = new StubLineageServer();
+             HttpConnectionPool pool = new HttpConnectionPool(server.getUri(), "application/json", null, null, null, 2,
+                 Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMinutes(1))) {
+            pool.prewarm(2, 5000);
+
+            StageTrace trace = StageTrace.begin("RunEvent");
+            assertEquals(200, pool.post(BODY, 0, BODY.length, 5000).getStatusCode());
+            trace.end(false);
+            assertEquals(0, trace.getMicros(StageTrace.Stage.CONNECT), "the warmed connection was used");
+            assertEquals(1, server.getRemotePorts().size());
+        }
+    }
+
+    @Test
+    public void testTransportWarmsUpBeforeTheFirstEmit() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            serverSocket.setSoTimeout(5000);
+            CountDownLatch warmed = new CountDownLatch(1);
+            Thread collector = new Thread(() -> {
+                try {
+                    // The collector drops the warmed connection while it is idle, then serves the retry
+                    serverSocket.accept().close();
+                    warmed.countDown();
+                    try (Socket socket = serverSocket.accept()) {
+                        respond(socket);
+                    }
+                } catch (IOException e) {
+                    // The test fails on the missing countdown or the failed emit
+                }
+            });
+            collector.start();
+
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            assertNull(config.getPrewarmConnections(), "unset means no warm-up");
+            config.setUrl(URI.create("http://127.0.0.1:" + serverSocket.getLocalPort() + "/api/v1/lineage"));
+            config.setPrewarmConnections(1);
+            config.setDnsCacheTtl(Duration.ofMinutes(1));
+            config.setMaxRetries(0);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            assertTrue(warmed.await(5, TimeUnit.SECONDS), "a connection was opened before any event");
+
+            OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+            transport.emit(ol.newRunEventBuilder()
+                .eventTime(ZonedDateTime.now())
+                .eventType(OpenLineage.RunEvent.EventType.START)
+                .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+                .job(ol.newJobBuilder().namespace("test-namespace").name("test-job-name").build())
+                .build());
+            transport.close();
+            collector.join(5000);
+        }
+    }
+
+    private static void respond(Socket socket) throws IOException {
+        InputStream in = socket.getInputStream();
+        StringBuilder head = new StringBuilder();
+        while (head.indexOf("\r\n\r\n") < 0) {
+            int b = in.read();
+            if (b < 0) {
+                return;
+            }
+            head.append((char) b);
+        }
+        String lowerHead = head.toString().toLowerCase();
+        int start = lowerHead.indexOf("content-length: ") + "content-length: ".length();
+        int length = Integer.parseInt(lowerHead.substring(start, lowerHead.indexOf("\r\n", start)).trim());
+        for (int i = 0; i < length; i++) {
+            in.read();
+        }
+        OutputStream out = socket.getOutputStream();
+        out.write("HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+}
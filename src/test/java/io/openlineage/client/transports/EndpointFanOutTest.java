@@ -0,0 +1,85 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for delivering every event to several collectors in parallel.
+ */
+public class EndpointFanOutTest {
+
+    @Test
+    public void testEveryEndpointReceivesEveryEventWithItsOwnHeaders() throws Exception {
+        try (StubLineageServer primary = new StubLineageServer();
+             StubLineageServer audit = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(primary.getUri());
+            config.setHeaders(Collections.singletonMap("X-Team", "lineage"));
+            config.setEndpoints(Collections.singletonList(endpoint(audit.getUri(), "X-Audit", "yes")));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            for (int i = 0; i < 3; i++) {
+                transport.emit(runEvent());
+            }
+            assertTrue(transport.flush(Duration.ofSeconds(5)));
+            transport.close();
+
+            assertEquals(3, primary.getBodies().size());
+            assertEquals(3, audit.getBodies().size());
+            assertEquals(Arrays.asList("lineage", "lineage", "lineage"), audit.getHeaderValues("X-Team"));
+            assertEquals("yes", audit.getHeaderValues("X-Audit").get(0));
+            assertNull(primary.getHeaderValues("X-Audit").get(0));
+        }
+    }
+
+    @Test
+    public void testSlowEndpointDoesNotDelayTheOthers() throws Exception {
+        try (StubLineageServer fast = new StubLineageServer();
+             StubLineageServer slow = new StubLineageServer()) {
+            slow.setDelayMillis(1000);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setEndpoints(Arrays.asList(endpoint(fast.getUri(), null, null), endpoint(slow.getUri(), null, null)));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+
+            long start = System.nanoTime();
+            transport.emit(runEvent());
+            assertTrue(System.nanoTime() - start < Duration.ofMillis(500).toNanos(), "emit does not wait for delivery");
+            while (fast.getBodies().isEmpty() && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, fast.getBodies().size());
+            assertTrue(slow.getBodies().isEmpty(), "the fast endpoint was served while the slow one was busy");
+
+            assertTrue(transport.flush(Duration.ofSeconds(5)));
+            assertEquals(1, slow.getBodies().size());
+            transport.close();
+        }
+    }
+
+    private static InsecureHttpConfig.Endpoint endpoint(URI url, String header, String value) {
+        InsecureHttpConfig.Endpoint endpoint = new InsecureHttpConfig.Endpoint();
+        endpoint.setUrl(url);
+        if (header != null) {
+            endpoint.setHeaders(Collections.singletonMap(header, value));
+        }
+        return endpoint;
+    }
+
+    private static OpenLineage.RunEvent runEvent() {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name("fan-out-test").build())
+            .build();
+    }
+}
@@ -0,0 +1,182 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientException;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for batched emission through the transport.
+ */
+public class EventBatcherTest {
+
+    @Test
+    public void testBatchIsSentWhenFull() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = batchConfig(server, 3, Duration.ofMinutes(1));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            for (int i = 0; i < 3; i++) {
+                transport.emit(runEvent());
+            }
+
+            assertEquals(1, server.getBodies().size());
+            assertEquals("/api/v1/lineage/batch", server.getPaths().get(0));
+            String body = server.getBodies().get(0);
+            assertTrue(body.startsWith("[{") && body.endsWith("}]"));
+            transport.close();
+        }
+    }
+
+    @Test
+    public void testPartialBatchIsSentAfterLinger() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = batchConfig(server, 100, Duration.ofMillis(50));
+            config.setBatchFormat(InsecureHttpConfig.BatchFormat.NDJSON);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            transport.emit(runEvent());
+            transport.emit(runEvent());
+            assertTrue(server.getBodies().isEmpty());
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.getBodies().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, server.getBodies().size());
+            assertEquals(2, server.getBodies().get(0).split("\n").length);
+            transport.close();
+        }
+    }
+
+    @Test
+    public void testFallsBackToSingleEventsWhenBatchesAreRejected() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setResponseCode("/api/v1/lineage/batch", 404);
+            InsecureHttpConfig config = batchConfig(server, 2, Duration.ofMinutes(1));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            for (int i = 0; i < 3; i++) {
+                transport.emit(runEvent());
+            }
+
+            // One rejected batch, its two events resent singly, then the third sent singly
+            assertEquals(4, server.getPaths().size());
+            assertEquals("/api/v1/lineage/batch", server.getPaths().get(0));
+            assertEquals(3, server.getPaths().stream().filter("/api/v1/lineage"::equals).count());
+            transport.close();
+        }
+    }
+
+    @Test
+    public void testRejectedEventDoesNotTakeDownTheRestOfTheBatch() throws Exception {
+        Path spoolDirectory = Files.createTempDirectory("batch-spool-test");
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setResponseCodeForBodiesContaining("malformed-job", 400);
+            server.setResponseCodeForBodiesContaining("overloaded-job", 503);
+            InsecureHttpConfig config = batchConfig(server, 4, Duration.ofMinutes(1));
+            config.setMaxRetries(0);
+            config.setMetrics(true);
+            config.setMetricsJmx(false);
+            config.setSpoolDirectory(spoolDirectory.toString());
+            // Long enough that the spooled event is not replayed while the collector still rejects it
+            config.setSpoolReplayInterval(Duration.ofMillis(500));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            transport.emit(runEvent("first-job"));
+            transport.emit(runEvent("malformed-job"));
+            transport.emit(runEvent("overloaded-job"));
+            OpenLineageClientException e = assertThrows(OpenLineageClientException.class,
+                () -> transport.emit(runEvent("last-job")));
+            assertEquals(400, ((HttpStatusException) e.getCause()).getStatusCode());
+
+            // The batch, then each event singly; only the retryable failure is spooled
+            assertEquals(Arrays.asList("/api/v1/lineage/batch", "/api/v1/lineage", "/api/v1/lineage",
+                "/api/v1/lineage", "/api/v1/lineage"), server.getPaths().subList(0, 5));
+            assertEquals(1, transport.getMetrics().getEventsSpooled());
+
+            server.setResponseCodeForBodiesContaining("overloaded-job", 200);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (count(server, "overloaded-job") < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            transport.close();
+            assertEquals(3, count(server, "overloaded-job"), "batch, single attempt and replay");
+            assertEquals(2, count(server, "first-job"), "delivered events are not spooled and sent again");
+            assertEquals(2, count(server, "last-job"));
+        } finally {
+            try (Stream<Path> paths = Files.walk(spoolDirectory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOversizedEventIsSentAfterEarlierBatchedEvents() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = batchConfig(server, 100, Duration.ofMinutes(1));
+            config.setBatchMaxBytes(2048L);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            transport.emit(runEvent("small-job", OpenLineage.RunEvent.EventType.START));
+            assertTrue(server.getBodies().isEmpty(), "the START is batched");
+            StringBuilder name = new StringBuilder("large-job-");
+            while (name.length() < 4096) {
+                name.append('x');
+            }
+            transport.emit(runEvent(name.toString(), OpenLineage.RunEvent.EventType.COMPLETE));
+            transport.close();
+
+            assertEquals(2, server.getBodies().size());
+            assertTrue(server.getBodies().get(0).contains("\"START\""), "the batched START goes first");
+            assertTrue(server.getBodies().get(1).contains("\"COMPLETE\""));
+        }
+    }
+
+    @Test
+    public void testDefaultBatchUrl() {
+        InsecureHttpConfig config = new InsecureHttpConfig();
+        config.setUrl(URI.create("https://example.com/api/v1/lineage?tenant=a"));
+        assertEquals(URI.create("https://example.com/api/v1/lineage/batch"), config.getBatchUrl());
+    }
+
+    private static InsecureHttpConfig batchConfig(StubLineageServer server, int maxEvents, Duration linger) {
+        InsecureHttpConfig config = new InsecureHttpConfig();
+        config.setUrl(server.getUri());
+        config.setBatch(true);
+        config.setBatchMaxEvents(maxEvents);
+        config.setBatchLinger(linger);
+        return config;
+    }
+
+    private static long count(StubLineageServer server, String text) {
+        return server.getBodies().stream().filter(body -> body.contains(text)).count();
+    }
+
+    private static OpenLineage.RunEvent runEvent() {
+        return runEvent("batch-test");
+    }
+
+    private static OpenLineage.RunEvent runEvent(String jobName) {
+        return runEvent(jobName, OpenLineage.RunEvent.EventType.RUNNING);
+    }
+
+    private static OpenLineage.RunEvent runEvent(String jobName, OpenLineage.RunEvent.EventType eventType) {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(eventType)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name(jobName).build())
+            .build();
+    }
+}
@@ -0,0 +1,165 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for sampling, deduplication and coalescing of run events.
+ */
+public class EventFilterTest {
+
+    private static final OpenLineage OL = new OpenLineage(URI.create("https://test-producer.com"));
+    private static final EventSerializer SERIALIZER =
+        new EventSerializer(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    public void testIdenticalRunningEventsAreDroppedButTransitionsPass() {
+        EventFilter filter = new EventFilter(null, true, 100, Duration.ZERO);
+        UUID runId = UUID.randomUUID();
+
+        assertTrue(accept(filter, event(runId, OpenLineage.RunEvent.EventType.START, "a")));
+        assertTrue(accept(filter, event(runId, OpenLineage.RunEvent.EventType.RUNNING, "a")));
+        assertFalse(accept(filter, event(runId, OpenLineage.RunEvent.EventType.RUNNING, "a")),
+            "only eventTime differs");
+        assertTrue(accept(filter, event(runId, OpenLineage.RunEvent.EventType.RUNNING, "b")));
+        assertTrue(accept(filter, event(UUID.randomUUID(), OpenLineage.RunEvent.EventType.RUNNING, "b")),
+            "another run is tracked separately");
+        assertTrue(accept(filter, event(runId, OpenLineage.RunEvent.EventType.COMPLETE, "b")));
+        assertTrue(accept(filter, event(runId, OpenLineage.RunEvent.EventType.COMPLETE, "b")),
+            "terminal events are never deduplicated");
+    }
+
+    @Test
+    public void testCoalescingKeepsFirstEventOfEachWindow() throws InterruptedException {
+        EventFilter filter = new EventFilter(null, false, 100, Duration.ofMillis(100));
+        UUID runId = UUID.randomUUID();
+        assertTrue(accept(filter, event(runId, OpenLineage.RunEvent.EventType.RUNNING, "a")));
+        assertFalse(accept(filter, event(runId, OpenLineage.RunEvent.EventType.RUNNING, "a")));
+        Thread.sleep(120);
+        assertTrue(accept(filter, event(runId, OpenLineage.RunEvent.EventType.RUNNING, "a")));
+        assertTrue(accept(filter, event(runId, OpenLineage.RunEvent.EventType.FAIL, "a")));
+    }
+
+    @Test
+    public void testSamplingNeverAppliesToStateTransitions() {
+        EventFilter filter = new EventFilter(Collections.singletonMap("COMPLETE", 0.0), false, 100, Duration.ZERO);
+        assertTrue(accept(filter, event(UUID.randomUUID(), OpenLineage.RunEvent.EventType.COMPLETE, "a")));
+
+        EventFilter running = new EventFilter(Collections.singletonMap("RUNNING", 0.0), false, 100, Duration.ZERO);
+        assertFalse(accept(running, event(UUID.randomUUID(), OpenLineage.RunEvent.EventType.RUNNING, "a")));
+        assertTrue(accept(running, event(UUID.randomUUID(), OpenLineage.RunEvent.EventType.START, "a")));
+    }
+
+    @Test
+    public void testFingerprintIgnoresEventTime() {
+        byte[] first = "{\"eventTime\":\"2024-01-01T00:00:00Z\",\"a\":1}".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "{\"eventTime\":\"2024-06-01T12:30:00Z\",\"a\":1}".getBytes(StandardCharsets.UTF_8);
+        byte[] numeric = "{\"eventTime\":1717245000.000000000,\"a\":1}".getBytes(StandardCharsets.UTF_8);
+        byte[] other = "{\"eventTime\":\"2024-06-01T12:30:00Z\",\"a\":2}".getBytes(StandardCharsets.UTF_8);
+        assertEquals(EventFilter.fingerprint(first, first.length), EventFilter.fingerprint(second, second.length));
+        assertEquals(EventFilter.fingerprint(first, first.length), EventFilter.fingerprint(numeric, numeric.length));
+        assertNotEquals(EventFilter.fingerprint(first, first.length), EventFilter.fingerprint(other, other.length));
+    }
+
+    @Test
+    public void testTransportSkipsDuplicateRunningEvents() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setDedup(true);
+            config.setMetrics(true);
+            config.setMetricsJmx(false);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            UUID runId = UUID.randomUUID();
+            transport.emit(event(runId, OpenLineage.RunEvent.EventType.RUNNING, "a"));
+            transport.emit(event(runId, OpenLineage.RunEvent.EventType.RUNNING, "a"));
+            transport.emit(event(runId, OpenLineage.RunEvent.EventType.COMPLETE, "a"));
+            transport.close();
+            assertEquals(2, server.getBodies().size());
+            assertEquals(1, transport.getMetrics().getEventsFiltered());
+        }
+    }
+
+    @Test
+    public void testDedupRecordsOnlyDeliveredEventsAndIgnoresCachedFacets() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setDedup(true);
+            config.setFacetCache(true);
+            config.setMaxRetries(0);
+            config.setMetrics(true);
+            config.setMetricsJmx(false);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            UUID runId = UUID.randomUUID();
+
+            server.setResponseCode(500);
+            assertThrows(OpenLineageClientException.class, () -> transport.emit(datasetEvent(runId, 3)));
+            server.setResponseCode(200);
+            transport.emit(datasetEvent(runId, 3));
+            transport.emit(datasetEvent(runId, 3));
+            transport.emit(datasetEvent(runId, 4));
+            transport.close();
+
+            List<String> bodies = server.getBodies();
+            assertEquals(3, bodies.size(), "the failed send, its retry and the changed schema");
+            assertTrue(bodies.get(1).contains("\"schema\""), "the retry was not dropped as a duplicate");
+            assertTrue(bodies.get(2).contains("column_3"));
+            assertEquals(1, transport.getMetrics().getEventsFiltered(),
+                "the copy whose schema the facet cache left out is still a duplicate");
+        }
+    }
+
+    private static boolean accept(EventFilter filter, OpenLineage.RunEvent event) {
+        try {
+            PayloadBuffer payload = SERIALIZER.serialize(event);
+            boolean accepted = filter.accept(event, payload.array(), payload.size());
+            // As if the event was delivered
+            filter.commit(filter.takePending());
+            return accepted;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static OpenLineage.RunEvent datasetEvent(UUID runId, int columns) {
+        List<OpenLineage.SchemaDatasetFacetFields> fields = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            fields.add(OL.newSchemaDatasetFacetFieldsBuilder().name("column_" + i).type("STRING").build());
+        }
+        OpenLineage.DatasetFacets facets = OL.newDatasetFacetsBuilder().schema(OL.newSchemaDatasetFacet(fields)).build();
+        return OL.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.RUNNING)
+            .run(OL.newRunBuilder().runId(runId).build())
+            .job(OL.newJobBuilder().namespace("test-namespace").name("test-job-name").build())
+            .inputs(Collections.emptyList())
+            .outputs(Collections.singletonList(
+                OL.newOutputDatasetBuilder().namespace("test-namespace").name("orders").facets(facets).build()))
+            .build();
+    }
+
+    private static OpenLineage.RunEvent event(UUID runId, OpenLineage.RunEvent.EventType type, String jobName) {
+        return OL.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(type)
+            .run(OL.newRunBuilder().runId(runId).build())
+            .job(OL.newJobBuilder().namespace("test-namespace").name(jobName).build())
+            .build();
+    }
+}
@@ -0,0 +1,54 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the reusable per-thread serializer produces the same bytes as the ObjectMapper.
+ */
+public class EventSerializerTest {
+
+    @Test
+    public void testRepeatedSerializationMatchesObjectMapper() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        EventSerializer serializer = new EventSerializer(objectMapper);
+
+        for (int i = 0; i < 3; i++) {
+            OpenLineage.RunEvent event = runEvent("job-" + i);
+            PayloadBuffer payload = serializer.serialize(event);
+            String expected = objectMapper.writeValueAsString(event);
+            assertEquals(expected, new String(payload.array(), 0, payload.size(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testBufferIsReusedOnSameThread() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        EventSerializer serializer = new EventSerializer(objectMapper);
+
+        PayloadBuffer first = serializer.serialize(runEvent("first"));
+        PayloadBuffer second = serializer.serialize(runEvent("second"));
+        assertSame(first, second);
+    }
+
+    private static OpenLineage.RunEvent runEvent(String jobName) {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name(jobName).build())
+            .build();
+    }
+}
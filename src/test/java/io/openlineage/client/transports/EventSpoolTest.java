@@ -0,0 +1,203 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the on-disk spool and replay of undeliverable events.
+ */
+public class EventSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testPeekReturnsRecordsInOrderUntilCommitted() throws Exception {
+        try (EventSpool spool = new EventSpool(directory, 64 * 1024, 1024 * 1024)) {
+            assertTrue(spool.isEmpty());
+            assertNull(spool.peek());
+            append(spool, "first");
+            append(spool, "second");
+
+            assertEquals("first", read(spool.peek()));
+            assertEquals("first", read(spool.peek()), "peek must not consume the record");
+            spool.commit();
+            assertEquals("second", read(spool.peek()));
+            spool.commit();
+            assertNull(spool.peek());
+            assertTrue(spool.isEmpty());
+        }
+    }
+
+    @Test
+    public void testUncommittedRecordsSurviveReopen() throws Exception {
+        try (EventSpool spool = new EventSpool(directory, 64 * 1024, 1024 * 1024)) {
+            append(spool, "delivered");
+            append(spool, "pending-1");
+            append(spool, "pending-2");
+            spool.peek();
+            spool.commit();
+        }
+        try (EventSpool spool = new EventSpool(directory, 64 * 1024, 1024 * 1024)) {
+            assertEquals("pending-1", read(spool.peek()));
+            spool.commit();
+            append(spool, "pending-3");
+            assertEquals("pending-2", read(spool.peek()));
+            spool.commit();
+            assertEquals("pending-3", read(spool.peek()));
+        }
+    }
+
+    @Test
+    public void testRotatesSegmentsAndDeletesDeliveredOnes() throws Exception {
+        byte[] record = new byte[3000];
+        try (EventSpool spool = new EventSpool(directory, 8 * 1024, 1024 * 1024)) {
+            for (int i = 0; i < 10; i++) {
+                record[0] = (byte) i;
+                assertTrue(spool.append(record, 0, record.length));
+            }
+            assertTrue(spool.getSegmentCount() > 1);
+            for (int i = 0; i < 10; i++) {
+                byte[] payload = spool.peek();
+                assertNotNull(payload);
+                assertEquals(i, payload[0]);
+                spool.commit();
+            }
+            assertNull(spool.peek());
+            assertEquals(1, spool.getSegmentCount());
+        }
+    }
+
+    @Test
+    public void testSizeCapDropsOldestSegment() throws Exception {
+        byte[] record = new byte[3000];
+        try (EventSpool spool = new EventSpool(directory, 8 * 1024, 16 * 1024)) {
+            for (int i = 0; i < 20; i++) {
+                record[0] = (byte) i;
+                assertTrue(spool.append(record, 0, record.length));
+            }
+            assertTrue(spool.getSizeBytes() <= 16 * 1024);
+            assertTrue(spool.peek()[0] > 0, "the oldest records should have been dropped");
+            assertFalse(spool.append(new byte[32 * 1024], 0, 32 * 1024), "a record larger than the cap is refused");
+        }
+    }
+
+    @Test
+    public void testTransportSpoolsWhileEndpointIsDownAndReplaysAfterRecovery() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setResponseCode(503);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setSpoolDirectory(directory.toString());
+            config.setSpoolReplayInterval(Duration.ofMillis(20));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+
+            assertDoesNotThrow(() -> transport.emit(runEvent("spooled-job")));
+            server.setResponseCode(200);
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (server.getBodies().stream().filter(body -> body.contains("spooled-job")).count() < 2
+                && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            transport.close();
+            assertEquals(2, server.getBodies().stream().filter(body -> body.contains("spooled-job")).count(),
+                "the event should be sent once, rejected, then replayed from the spool");
+        }
+    }
+
+    @Test
+    public void testOffsetIsPersistedInBatchesAndWhenDrained() throws Exception {
+        Path offsetFile = directory.resolve("spool.offset");
+        try (EventSpool spool = new EventSpool(directory, 64 * 1024, 1024 * 1024,
+            InsecureHttpConfig.SpoolFsync.ALWAYS, Duration.ZERO)) {
+            append(spool, "first");
+            append(spool, "second");
+            assertFalse(spool.isEmpty());
+            spool.peek();
+            spool.commit();
+            assertFalse(Files.exists(offsetFile), "a single commit does not rewrite the offset file");
+            assertFalse(spool.isEmpty());
+            spool.peek();
+            spool.commit();
+            assertTrue(spool.isEmpty());
+            assertTrue(Files.exists(offsetFile), "the drained position is persisted at once");
+        }
+        try (EventSpool spool = new EventSpool(directory, 64 * 1024, 1024 * 1024)) {
+            assertTrue(spool.isEmpty());
+            assertNull(spool.peek());
+        }
+    }
+
+    @Test
+    public void testDirectoryCannotBeOpenedTwice() throws Exception {
+        try (EventSpool spool = new EventSpool(directory, 64 * 1024, 1024 * 1024)) {
+            IOException e = assertThrows(IOException.class, () -> new EventSpool(directory, 64 * 1024, 1024 * 1024));
+            assertTrue(e.getMessage().contains("in use"), e.getMessage());
+        }
+        // Closing releases the directory
+        new EventSpool(directory, 64 * 1024, 1024 * 1024).close();
+    }
+
+    @Test
+    public void testNewEventsWaitBehindSpooledOnes() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setResponseCodeForBodiesContaining("start-job", 503);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setMaxRetries(0);
+            config.setSpoolDirectory(directory.toString());
+            config.setSpoolReplayInterval(Duration.ofMillis(20));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+
+            transport.emit(runEvent("start-job"));
+            transport.emit(runEvent("complete-job"));
+            Thread.sleep(100);
+            assertFalse(server.getBodies().stream().anyMatch(body -> body.contains("complete-job")),
+                "the later event waits while the earlier one is spooled");
+
+            server.setResponseCodeForBodiesContaining("start-job", 200);
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (server.getBodies().stream().noneMatch(body -> body.contains("complete-job"))
+                && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            transport.close();
+            List<String> bodies = server.getBodies();
+            String last = bodies.get(bodies.size() - 1);
+            assertTrue(last.contains("complete-job"), "the later event is replayed after the earlier one");
+            assertTrue(bodies.get(bodies.size() - 2).contains("start-job"));
+        }
+    }
+
+    private static void append(EventSpool spool, String value) throws Exception {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        assertTrue(spool.append(bytes, 0, bytes.length));
+    }
+
+    private static String read(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private static OpenLineage.RunEvent runEvent(String jobName) {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name(jobName).build())
+            .build();
+    }
+}
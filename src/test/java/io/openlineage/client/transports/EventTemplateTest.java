@@ -0,0 +1,119 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for emitting pre-serialized event templates.
+ */
+public class EventTemplateTest {
+
+    private static final OpenLineage OL = new OpenLineage(URI.create("https://test-producer.com"));
+    private static final ObjectMapper READER = new ObjectMapper();
+    private static final UUID PARENT_RUN_ID = UUID.randomUUID();
+
+    @Test
+    public void testTemplateWritesTheSameBytesAsSerializing() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        EventSerializer serializer = new EventSerializer(objectMapper);
+        EventTemplate template = EventTemplate.compile(objectMapper, event(UUID.randomUUID(),
+            OpenLineage.RunEvent.EventType.START, ZonedDateTime.now()));
+
+        UUID runId = UUID.randomUUID();
+        for (ZonedDateTime eventTime : Arrays.asList(ZonedDateTime.now(),
+            ZonedDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC),
+            ZonedDateTime.of(2024, 6, 30, 8, 15, 1, 500, ZoneOffset.ofHours(2)))) {
+            String expected = new String(serializer.serialize(
+                event(runId, OpenLineage.RunEvent.EventType.COMPLETE, eventTime)).toByteArray(), "UTF-8");
+            PayloadBuffer buffer = new PayloadBuffer(1024);
+            template.writeTo(buffer, runId, OpenLineage.RunEvent.EventType.COMPLETE, eventTime);
+            assertEquals(expected, new String(buffer.toByteArray(), "UTF-8"));
+        }
+    }
+
+    @Test
+    public void testTemplateEmitsAreSentLikeEvents() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setDropFacets(Collections.singletonList("documentation"));
+            config.setFacetCache(true);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            // The facet cache has seen the schema already, but a template must still carry it
+            transport.emit(event(UUID.randomUUID(), OpenLineage.RunEvent.EventType.START, ZonedDateTime.now()));
+            EventTemplate template = transport.compileTemplate(
+                event(UUID.randomUUID(), OpenLineage.RunEvent.EventType.START, ZonedDateTime.now()));
+
+            UUID runId = UUID.randomUUID();
+            transport.emit(template, runId, OpenLineage.RunEvent.EventType.COMPLETE, ZonedDateTime.now());
+            transport.close();
+
+            JsonNode sent = READER.readTree(server.getBodies().get(1));
+            assertEquals(runId.toString(), sent.path("run").path("runId").asText());
+            assertEquals("COMPLETE", sent.path("eventType").asText());
+            JsonNode facets = sent.path("outputs").get(0).path("facets");
+            assertTrue(facets.has("schema"));
+            assertFalse(facets.has("documentation"), "facets are trimmed as configured");
+        }
+    }
+
+    @Test
+    public void testTemplateEmitsAreDeduplicated() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setDedup(true);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            EventTemplate template = transport.compileTemplate(
+                event(UUID.randomUUID(), OpenLineage.RunEvent.EventType.START, ZonedDateTime.now()));
+
+            UUID runId = UUID.randomUUID();
+            transport.emit(template, runId, OpenLineage.RunEvent.EventType.START, ZonedDateTime.now());
+            transport.emit(template, runId, OpenLineage.RunEvent.EventType.RUNNING, ZonedDateTime.now());
+            transport.emit(template, runId, OpenLineage.RunEvent.EventType.RUNNING,
+                ZonedDateTime.now().plus(Duration.ofSeconds(1)));
+            transport.emit(template, runId, OpenLineage.RunEvent.EventType.COMPLETE, ZonedDateTime.now());
+            assertTrue(transport.flush(Duration.ofSeconds(5)));
+            transport.close();
+
+            assertEquals(3, server.getBodies().size(), "the repeated RUNNING event is dropped");
+        }
+    }
+
+    private static OpenLineage.RunEvent event(UUID runId, OpenLineage.RunEvent.EventType eventType,
+                                              ZonedDateTime eventTime) {
+        OpenLineage.DatasetFacets facets = OL.newDatasetFacetsBuilder()
+            .schema(OL.newSchemaDatasetFacet(Collections.singletonList(
+                OL.newSchemaDatasetFacetFieldsBuilder().name("id").type("BIGINT").build())))
+            .documentation(OL.newDocumentationDatasetFacet("Orders \"placed\" été", null))
+            .build();
+        return OL.newRunEventBuilder()
+            .eventTime(eventTime)
+            .eventType(eventType)
+            .run(OL.newRunBuilder().runId(runId)
+                .facets(OL.newRunFacetsBuilder()
+                    .parent(OL.newParentRunFacet(OL.newParentRunFacetRun(PARENT_RUN_ID),
+                        OL.newParentRunFacetJob("test-namespace", "parent-job"), null))
+                    .build())
+                .build())
+            .job(OL.newJobBuilder().namespace("test-namespace").name("test-job-name").build())
+            .inputs(Collections.emptyList())
+            .outputs(Collections.singletonList(
+                OL.newOutputDatasetBuilder().namespace("test-namespace").name("orders").facets(facets).build()))
+            .build();
+    }
+}
@@ -0,0 +1,214 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientException;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for facet dropping, truncation, schema capping and the dataset facet cache.
+ */
+public class FacetTrimmerTest {
+
+    private static final OpenLineage OL = new OpenLineage(URI.create("https://test-producer.com"));
+    private static final ObjectMapper READER = new ObjectMapper();
+
+    @Test
+    public void testNamedFacetsAreDropped() throws Exception {
+        FacetTrimmer trimmer = new FacetTrimmer(Arrays.asList("documentation", "sql"), 0, 0, false, 100);
+        EventSerializer serializer = serializer(trimmer);
+
+        JsonNode event = serialize(serializer, event("orders", 3, "select 1"));
+        JsonNode facets = event.path("outputs").get(0).path("facets");
+        assertTrue(facets.has("schema"));
+        assertFalse(facets.has("documentation"));
+        assertFalse(event.path("job").path("facets").has("sql"));
+    }
+
+    @Test
+    public void testOnlyStringsInsideFacetsAreTruncated() throws Exception {
+        FacetTrimmer trimmer = new FacetTrimmer(null, 8, 0, false, 100);
+        EventSerializer serializer = serializer(trimmer);
+
+        JsonNode event = serialize(serializer, event("a-long-dataset-name", 1, "select * from orders"));
+        assertEquals("select *", event.path("job").path("facets").path("sql").path("query").asText());
+        assertEquals("a-long-dataset-name", event.path("outputs").get(0).path("name").asText());
+        assertEquals("test-job-name", event.path("job").path("name").asText());
+    }
+
+    @Test
+    public void testSchemaFieldNamesAreNotTruncated() throws Exception {
+        FacetTrimmer trimmer = new FacetTrimmer(null, 4, 0, false, 100);
+        EventSerializer serializer = serializer(trimmer);
+
+        JsonNode facets = serialize(serializer, event("orders", 2, "select 1")).path("outputs").get(0).path("facets");
+        assertEquals("column_1", facets.path("schema").path("fields").get(1).path("name").asText());
+        assertEquals("STRI", facets.path("schema").path("fields").get(1).path("type").asText());
+        assertEquals("Orde", facets.path("documentation").path("description").asText());
+    }
+
+    @Test
+    public void testSchemaFieldsAreCapped() throws Exception {
+        FacetTrimmer trimmer = new FacetTrimmer(null, 0, 2, false, 100);
+        EventSerializer serializer = serializer(trimmer);
+
+        JsonNode event = serialize(serializer, event("orders", 5, "select 1"));
+        JsonNode fields = event.path("outputs").get(0).path("facets").path("schema").path("fields");
+        assertEquals(2, fields.size());
+        assertEquals("column_0", fields.get(0).path("name").asText());
+    }
+
+    @Test
+    public void testUnchangedDatasetFacetsAreSentOnce() throws Exception {
+        FacetTrimmer trimmer = new FacetTrimmer(null, 0, 0, true, 100);
+        EventSerializer serializer = serializer(trimmer);
+
+        assertTrue(outputFacets(serializer, trimmer, event("orders", 3, "select 1")).has("schema"));
+        JsonNode repeated = outputFacets(serializer, trimmer, event("orders", 3, "select 1"));
+        assertFalse(repeated.has("schema"), "unchanged schema is left out");
+        assertFalse(repeated.has("documentation"));
+        assertTrue(outputFacets(serializer, trimmer, event("orders", 4, "select 1")).has("schema"),
+            "a changed schema is sent again");
+        assertTrue(outputFacets(serializer, trimmer, event("customers", 4, "select 1")).has("schema"),
+            "each dataset is tracked separately");
+    }
+
+    @Test
+    public void testDiscardedEventDoesNotMarkFacetsAsSent() throws Exception {
+        FacetTrimmer trimmer = new FacetTrimmer(null, 0, 0, true, 100);
+        EventSerializer serializer = serializer(trimmer);
+
+        serialize(serializer, event("orders", 3, "select 1"));
+        trimmer.discard();
+        assertTrue(outputFacets(serializer, trimmer, event("orders", 3, "select 1")).has("schema"));
+    }
+
+    @Test
+    public void testFailedSendDoesNotMarkFacetsAsSent() throws Exception {
+        for (boolean batch : new boolean[] {false, true}) {
+            try (StubLineageServer server = new StubLineageServer()) {
+                InsecureHttpConfig config = new InsecureHttpConfig();
+                config.setUrl(server.getUri());
+                config.setFacetCache(true);
+                config.setMaxRetries(0);
+                config.setBatch(batch);
+                config.setBatchMaxEvents(1);
+                InsecureHttpTransport transport = new InsecureHttpTransport(config);
+
+                server.setResponseCode(400);
+                assertThrows(OpenLineageClientException.class, () -> transport.emit(event("orders", 3, "select 1")));
+                server.setResponseCode(200);
+                transport.emit(event("orders", 3, "select 1"));
+                transport.emit(event("orders", 3, "select 1"));
+                transport.close();
+
+                List<String> bodies = server.getBodies();
+                assertTrue(outputFacets(bodies.get(1)).has("schema"), "the failed send did not deliver the schema");
+                assertFalse(outputFacets(bodies.get(2)).has("schema"), "the delivered schema is cached");
+            }
+        }
+    }
+
+    @Test
+    public void testEventThatFailsToSerializeDoesNotMarkFacetsAsSent() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setFacetCache(true);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+
+            OpenLineage.RunEvent poisoned = event("orders", 3, "select 1");
+            poisoned.getOutputs().get(0).getFacets().getAdditionalProperties().put("poisoned", new PoisonedFacet());
+            assertThrows(LinkageError.class, () -> transport.emit(poisoned));
+            transport.emit(event("customers", 3, "select 1"));
+            transport.emit(event("orders", 3, "select 1"));
+            transport.close();
+
+            List<String> bodies = server.getBodies();
+            assertEquals(2, bodies.size());
+            assertTrue(outputFacets(bodies.get(1)).has("schema"), "the schema of the unsent event was not cached");
+        }
+    }
+
+    /**
+     * Facet whose serializer fails with an error, which Jackson passes through unwrapped.
+     */
+    @JsonSerialize(using = PoisonedFacetSerializer.class)
+    private static final class PoisonedFacet extends OpenLineage.DefaultDatasetFacet {
+        private PoisonedFacet() {
+            super(URI.create("https://test-producer.com"), null);
+        }
+    }
+
+    private static final class PoisonedFacetSerializer extends StdSerializer<PoisonedFacet> {
+        private PoisonedFacetSerializer() {
+            super(PoisonedFacet.class);
+        }
+
+        @Override
+        public void serialize(PoisonedFacet value, JsonGenerator gen, SerializerProvider provider) {
+            throw new LinkageError("facet class failed to load");
+        }
+    }
+
+    private static JsonNode outputFacets(String body) throws Exception {
+        return READER.readTree(body).path("outputs").get(0).path("facets");
+    }
+
+    private static EventSerializer serializer(FacetTrimmer trimmer) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        trimmer.install(objectMapper);
+        return new EventSerializer(objectMapper);
+    }
+
+    private static JsonNode outputFacets(EventSerializer serializer, FacetTrimmer trimmer, OpenLineage.RunEvent event)
+        throws Exception {
+        JsonNode json = serialize(serializer, event);
+        trimmer.commit();
+        return json.path("outputs").get(0).path("facets");
+    }
+
+    private static JsonNode serialize(EventSerializer serializer, OpenLineage.RunEvent event) throws Exception {
+        PayloadBuffer payload = serializer.serialize(event);
+        return READER.readTree(payload.toByteArray());
+    }
+
+    private static OpenLineage.RunEvent event(String datasetName, int columns, String query) {
+        List<OpenLineage.SchemaDatasetFacetFields> fields = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            fields.add(OL.newSchemaDatasetFacetFieldsBuilder().name("column_" + i).type("STRING").build());
+        }
+        OpenLineage.DatasetFacets facets = OL.newDatasetFacetsBuilder()
+            .schema(OL.newSchemaDatasetFacet(fields))
+            .documentation(OL.newDocumentationDatasetFacet("Orders placed", null))
+            .build();
+        return OL.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.RUNNING)
+            .run(OL.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(OL.newJobBuilder().namespace("test-namespace").name("test-job-name")
+                .facets(OL.newJobFacetsBuilder().sql(OL.newSQLJobFacet(query, null)).build())
+                .build())
+            .inputs(Collections.emptyList())
+            .outputs(Collections.singletonList(
+                OL.newOutputDatasetBuilder().namespace("test-namespace").name(datasetName).facets(facets).build()))
+            .build();
+    }
+}
@@ -0,0 +1,63 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientException;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the java.net.http.HttpClient engine, which falls back to the socket engine on Java 8.
+ */
+public class HttpClientEngineTest {
+
+    @Test
+    public void testEventsAreDeliveredAndCompressed() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setEngine(InsecureHttpConfig.Engine.HTTP_CLIENT);
+            config.setCompression(InsecureHttpConfig.Compression.GZIP);
+            config.setCompressionThreshold(0);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            for (int i = 0; i < 3; i++) {
+                transport.emit(runEvent());
+            }
+            transport.close();
+
+            assertEquals(3, server.getBodies().size());
+            assertTrue(server.getBodies().get(0).contains("engine-test"));
+            assertEquals("gzip", server.getContentEncodings().get(0));
+        }
+    }
+
+    @Test
+    public void testErrorStatusFailsTheEmit() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setResponseCode(400);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setEngine(InsecureHttpConfig.Engine.HTTP_CLIENT);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+
+            OpenLineageClientException e = assertThrows(OpenLineageClientException.class,
+                () -> transport.emit(runEvent()));
+            assertEquals(400, ((HttpStatusException) e.getCause()).getStatusCode());
+            transport.close();
+        }
+    }
+
+    private static OpenLineage.RunEvent runEvent() {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name("engine-test").build())
+            .build();
+    }
+}
@@ -0,0 +1,119 @@
+package io.openlineage.client.transports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for connection reuse and eviction in the persistent connection pool.
+ */
+public class HttpConnectionPoolTest {
+
+    private static final byte[] BODY = "{\"eventType\":\"START\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testConnectionIsReusedAcrossRequests() throws IOException {
+        try (StubLineageServer server = new StubLineageServer();
+             HttpConnectionPool pool = new HttpConnectionPool(server.getUri(), null, null, 2,
+                 Duration.ofSeconds(30), Duration.ofMinutes(5))) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(200, pool.post(BODY, 0, BODY.length, 5000).getStatusCode());
+            }
+            assertEquals(10, server.getBodies().size());
+            assertEquals(1, server.getRemotePorts().size());
+            assertEquals("{\"eventType\":\"START\"}", server.getBodies().get(0));
+        }
+    }
+
+    @Test
+    public void testExpiredConnectionsAreReplaced() throws IOException {
+        try (StubLineageServer server = new StubLineageServer();
+             HttpConnectionPool pool = new HttpConnectionPool(server.getUri(), null, null, 2,
+                 Duration.ofSeconds(30), Duration.ZERO)) {
+            for (int i = 0; i < 3; i++) {
+                pool.post(BODY, 0, BODY.length, 5000);
+            }
+            assertEquals(3, server.getRemotePorts().size());
+        }
+    }
+
+    @Test
+    public void testErrorStatusIsReturnedWithoutClosingConnection() throws IOException {
+        try (StubLineageServer server = new StubLineageServer();
+             HttpConnectionPool pool = new HttpConnectionPool(server.getUri(),
+                 Collections.singletonMap("Authorization", "Bearer test"), null, 1,
+                 Duration.ofSeconds(30), Duration.ofMinutes(5))) {
+            server.setResponseCode(503);
+            assertFalse(pool.post(BODY, 0, BODY.length, 5000).isSuccessful());
+            server.setResponseCode(201);
+            assertTrue(pool.post(BODY, 0, BODY.length, 5000).isSuccessful());
+            assertEquals(1, server.getRemotePorts().size());
+        }
+    }
+
+    @Test
+    public void testMalformedFramingFailsAndFreesTheConnection() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            serverSocket.setSoTimeout(5000);
+            Thread collector = new Thread(() -> {
+                for (String length : new String[] {"abc", "-1", "0"}) {
+                    try (Socket socket = serverSocket.accept()) {
+                        readRequest(socket.getInputStream());
+                        socket.getOutputStream().write(("HTTP/1.1 200 OK\r\nContent-Length: " + length + "\r\n\r\n")
+                            .getBytes(StandardCharsets.ISO_8859_1));
+                        socket.getOutputStream().flush();
+                        // Wait for the client to hang up before accepting its next connection
+                        socket.getInputStream().read();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            collector.start();
+            try (HttpConnectionPool pool = new HttpConnectionPool(
+                URI.create("http://127.0.0.1:" + serverSocket.getLocalPort() + "/"), null, null, 1,
+                Duration.ofSeconds(30), Duration.ofMinutes(5))) {
+                IOException e = assertThrows(IOException.class, () -> pool.post(BODY, 0, BODY.length, 1000));
+                assertTrue(e.getMessage().startsWith("Malformed Content-Length"), e.getMessage());
+                assertThrows(IOException.class, () -> pool.post(BODY, 0, BODY.length, 1000));
+                // Both failed connections were discarded, so the single slot is free again
+                assertEquals(200, pool.post(BODY, 0, BODY.length, 1000).getStatusCode());
+            }
+            collector.join(5000);
+        }
+    }
+
+    @Test
+    public void testUnsupportedSchemeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HttpConnectionPool(URI.create("ftp://example.com/"),
+            null, null, 1, Duration.ofSeconds(30), Duration.ofMinutes(5)));
+    }
+
+    private static void readRequest(InputStream in) throws IOException {
+        StringBuilder head = new StringBuilder();
+        while (head.indexOf("\r\n\r\n") < 0) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            head.append((char) b);
+        }
+        String lowerHead = head.toString().toLowerCase(Locale.ROOT);
+        int start = lowerHead.indexOf("content-length: ") + "content-length: ".length();
+        int length = Integer.parseInt(lowerHead.substring(start, lowerHead.indexOf("\r\n", start)).trim());
+        for (int i = 0; i < length; i++) {
+            in.read();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for balancing requests over collector replicas with ejection and readmission.
+ */
+public class LoadBalancedSenderTest {
+
+    @Test
+    public void testRoundRobinSpreadsRequestsEvenly() throws Exception {
+        try (StubLineageServer first = new StubLineageServer();
+             StubLineageServer second = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(first.getUri());
+            config.setReplicaUrls(Collections.singletonList(second.getUri()));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            for (int i = 0; i < 6; i++) {
+                transport.emit(runEvent());
+            }
+            transport.close();
+
+            assertEquals(3, first.getBodies().size());
+            assertEquals(3, second.getBodies().size());
+        }
+    }
+
+    @Test
+    public void testFailingReplicaIsEjectedAndReadmitted() throws Exception {
+        try (StubLineageServer healthy = new StubLineageServer();
+             StubLineageServer failing = new StubLineageServer()) {
+            failing.setResponseCode(503);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setReplicaUrls(Arrays.asList(healthy.getUri(), failing.getUri()));
+            config.setReplicaEjectionFailures(2);
+            config.setReplicaEjectionDuration(Duration.ofMillis(300));
+            config.setMaxRetries(3);
+            config.setRetryInitialBackoff(Duration.ofMillis(1));
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            for (int i = 0; i < 10; i++) {
+                transport.emit(runEvent());
+            }
+            assertEquals(2, failing.getBodies().size(), "no requests once ejected");
+            assertEquals(10, healthy.getBodies().size());
+
+            failing.setResponseCode(200);
+            Thread.sleep(400);
+            for (int i = 0; i < 4; i++) {
+                transport.emit(runEvent());
+            }
+            transport.close();
+            assertEquals(4, failing.getBodies().size(), "readmitted after the ejection time");
+        }
+    }
+
+    @Test
+    public void testLastHealthyReplicaIsNeverEjected() throws Exception {
+        try (StubLineageServer first = new StubLineageServer();
+             StubLineageServer second = new StubLineageServer()) {
+            first.setResponseCode(503);
+            second.setResponseCode(503);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setReplicaUrls(Arrays.asList(first.getUri(), second.getUri()));
+            config.setReplicaEjectionFailures(1);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            for (int i = 0; i < 4; i++) {
+                assertThrows(RuntimeException.class, () -> transport.emit(runEvent()));
+            }
+            transport.close();
+
+            assertEquals(4, first.getBodies().size() + second.getBodies().size());
+            assertTrue(first.getBodies().size() == 1 || second.getBodies().size() == 1,
+                "one replica was ejected, the other kept serving");
+        }
+    }
+
+    private static OpenLineage.RunEvent runEvent() {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name("replica-test").build())
+            .build();
+    }
+}
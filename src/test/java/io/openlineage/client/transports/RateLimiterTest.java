@@ -0,0 +1,103 @@
+package io.openlineage.client.transports;
+
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientException;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the request and byte rate token buckets.
+ */
+public class RateLimiterTest {
+
+    @Test
+    public void testBurstPassesThenRequestsAreSmoothed() throws Exception {
+        RateLimiter limiter = new RateLimiter(20, 0, Duration.ofMillis(100));
+        long start = System.nanoTime();
+        for (int i = 0; i < 2; i++) {
+            assertTrue(limiter.acquire(100, Long.MAX_VALUE));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(40), "the burst is not delayed");
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.acquire(100, Long.MAX_VALUE));
+        }
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(140), "later requests wait their turn");
+    }
+
+    @Test
+    public void testFullBucketAdmitsExactlyItsCapacity() throws Exception {
+        RateLimiter requests = new RateLimiter(10, 0, Duration.ofSeconds(1));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(requests.acquire(100, 0));
+        }
+        assertFalse(requests.acquire(100, 0));
+
+        RateLimiter bytes = new RateLimiter(0, 1000, Duration.ofSeconds(1));
+        assertTrue(bytes.acquire(600, 0));
+        assertFalse(bytes.acquire(600, 0), "the bucket holds only 400 bytes");
+        assertTrue(bytes.acquire(400, 0));
+    }
+
+    @Test
+    public void testLargeBodyOverdrawsAndDelaysTheNextRequest() throws Exception {
+        RateLimiter limiter = new RateLimiter(0, 1000, Duration.ofSeconds(1));
+        assertTrue(limiter.acquire(5000, 0), "a body larger than the bucket still gets through");
+        long maxWait = TimeUnit.MILLISECONDS.toNanos(100);
+        assertFalse(limiter.acquire(10, maxWait));
+        assertFalse(limiter.acquire(10, maxWait), "a refused request takes no tokens");
+    }
+
+    @Test
+    public void testRequestsBeyondTheMaxWaitFailWithoutSpool() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setRateLimitRequestsPerSecond(1.0);
+            config.setRateLimitMaxWait(Duration.ZERO);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            transport.emit(runEvent());
+            OpenLineageClientException e = assertThrows(OpenLineageClientException.class,
+                () -> transport.emit(runEvent()));
+            assertTrue(e.getCause() instanceof RateLimitExceededException);
+            transport.close();
+            assertEquals(1, server.getBodies().size());
+        }
+    }
+
+    @Test
+    public void testRetriesTakeTokensToo() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setResponseCode(429);
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setMaxRetries(3);
+            config.setRetryInitialBackoff(Duration.ofMillis(1));
+            config.setRetryMaxBackoff(Duration.ofMillis(1));
+            config.setRateLimitRequestsPerSecond(1.0);
+            config.setRateLimitMaxWait(Duration.ZERO);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            OpenLineageClientException e = assertThrows(OpenLineageClientException.class,
+                () -> transport.emit(runEvent()));
+            assertTrue(e.getCause() instanceof RateLimitExceededException, "the first retry found no token");
+            transport.close();
+            assertEquals(1, server.getBodies().size());
+        }
+    }
+
+    private static OpenLineage.RunEvent runEvent() {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name("rate-limit-test").build())
+            .build();
+    }
+}
@@ -0,0 +1,81 @@
+package io.openlineage.client.transports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for gzip request compression and its size threshold.
+ */
+public class RequestCompressorTest {
+
+    @Test
+    public void testGzipRoundTripWithReusedDeflater() throws IOException {
+        RequestCompressor compressor = new RequestCompressor(InsecureHttpConfig.Compression.GZIP, 0);
+        for (String text : new String[] {repeat("{\"field\":\"value\"}", 500), "{}", repeat("abc", 10000)}) {
+            byte[] input = text.getBytes(StandardCharsets.UTF_8);
+            PayloadBuffer compressed = compressor.compress(input, 0, input.length);
+            assertEquals(text, gunzip(compressed.array(), compressed.size()));
+        }
+    }
+
+    @Test
+    public void testThreshold() {
+        RequestCompressor compressor = new RequestCompressor(InsecureHttpConfig.Compression.GZIP, 1024);
+        assertFalse(compressor.shouldCompress(1023));
+        assertTrue(compressor.shouldCompress(1024));
+    }
+
+    @Test
+    public void testZstdFallsBackToGzipWithoutZstdJni() {
+        RequestCompressor compressor = new RequestCompressor(InsecureHttpConfig.Compression.ZSTD, 0);
+        assertEquals("gzip", compressor.getContentEncoding());
+    }
+
+    @Test
+    public void testOnlyLargeBodiesAreSentCompressed() throws IOException {
+        try (StubLineageServer server = new StubLineageServer()) {
+            RequestCompressor compressor = new RequestCompressor(InsecureHttpConfig.Compression.GZIP, 100);
+            HttpConnectionPool pool = new HttpConnectionPool(server.getUri(), "application/json", null, compressor,
+                null, 1, Duration.ofSeconds(30), Duration.ofMinutes(5));
+            byte[] small = "{\"eventType\":\"START\"}".getBytes(StandardCharsets.UTF_8);
+            byte[] large = repeat("{\"eventType\":\"START\"}", 50).getBytes(StandardCharsets.UTF_8);
+
+            assertTrue(pool.post(small, 0, small.length, 5000).isSuccessful());
+            assertTrue(pool.post(large, 0, large.length, 5000).isSuccessful());
+            pool.close();
+
+            assertEquals("identity", server.getContentEncodings().get(0));
+            assertEquals("gzip", server.getContentEncodings().get(1));
+            assertEquals(new String(large, StandardCharsets.UTF_8), server.getBodies().get(1));
+        }
+    }
+
+    private static String gunzip(byte[] data, int length) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data, 0, length))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[4096];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+            return out.toString("UTF-8");
+        }
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package io.openlineage.client.transports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for retry classification, backoff and the retry budget.
+ */
+public class RetryPolicyTest {
+
+    @Test
+    public void testRetriesServerErrorsUntilSuccess() throws IOException {
+        RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(5), 0.2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpResponse response = policy.execute(() -> attempts.incrementAndGet() < 3 ? response(503) : response(200));
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testClientErrorsAreNotRetried() throws IOException {
+        RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofMillis(5), 0.2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals(400, policy.execute(() -> {
+            attempts.incrementAndGet();
+            return response(400);
+        }).getStatusCode());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testConnectFailuresAreRetriedThenRethrown() {
+        RetryPolicy policy = new RetryPolicy(2, Duration.ofMillis(1), Duration.ofMillis(5), 0.2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConnectException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ConnectException("Connection refused");
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testBudgetLimitsRetriesWhenEverythingFails() throws IOException {
+        RetryPolicy policy = new RetryPolicy(5, Duration.ofMillis(1), Duration.ofMillis(1), 0.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 20; i++) {
+            policy.execute(() -> {
+                attempts.incrementAndGet();
+                return response(503);
+            });
+        }
+        // 20 first attempts plus the 10 retries held in reserve, nothing more without refills
+        assertEquals(30, attempts.get());
+    }
+
+    @Test
+    public void testRetryAfterBeyondMaxBackoffIsNotWaitedFor() throws IOException {
+        RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(1), Duration.ofSeconds(1), 0.2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpResponse response = policy.execute(() -> {
+            attempts.incrementAndGet();
+            return new HttpResponse(429, Collections.singletonMap("retry-after", "120"));
+        });
+        assertEquals(429, response.getStatusCode());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testParseRetryAfter() {
+        assertEquals(3000, RetryPolicy.parseRetryAfter("3"));
+        assertEquals(0, RetryPolicy.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertEquals(-1, RetryPolicy.parseRetryAfter("soon"));
+        assertEquals(-1, RetryPolicy.parseRetryAfter(null));
+    }
+
+    private static HttpResponse response(int status) {
+        return new HttpResponse(status, Collections.emptyMap());
+    }
+}
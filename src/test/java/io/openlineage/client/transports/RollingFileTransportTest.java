@@ -0,0 +1,196 @@
+package io.openlineage.client.transports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openlineage.client.OpenLineage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the rolling NDJSON file transport.
+ */
+public class RollingFileTransportTest {
+
+    private static final OpenLineage OL = new OpenLineage(URI.create("https://test-producer.com"));
+    private static final ObjectMapper READER = new ObjectMapper();
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("rolling-file-test");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testEventsAreWrittenAsLinesOfCompletedFiles() throws Exception {
+        RollingFileTransport transport = new RollingFileTransport(config(RollingFileConfig.Fsync.INTERVAL));
+        transport.emit(event("job-0"));
+        transport.emit(event("job-1"));
+        transport.close();
+
+        assertTrue(files(".part").isEmpty(), "no file is left in progress after close");
+        assertEquals(Collections.singletonList("job-0,job-1"), jobNamesPerFile());
+    }
+
+    @Test
+    public void testFilesRollAtMaxSizeWithEventsInOrder() throws Exception {
+        RollingFileConfig config = config(RollingFileConfig.Fsync.NEVER);
+        config.setMaxFileSize(1L);
+        RollingFileTransport transport = new RollingFileTransport(config);
+        for (int i = 0; i < 3; i++) {
+            transport.emit(event("job-" + i));
+            // Give the committer a chance to write each event on its own
+            Thread.sleep(50);
+        }
+        transport.close();
+
+        List<String> files = jobNamesPerFile();
+        assertTrue(files.size() >= 2, "files roll once the size limit is reached: " + files);
+        assertEquals("job-0,job-1,job-2", String.join(",", files));
+    }
+
+    @Test
+    public void testConcurrentEmitsWithFsyncAlwaysAreAllDurable() throws Exception {
+        RollingFileTransport transport = new RollingFileTransport(config(RollingFileConfig.Fsync.ALWAYS));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int base = thread * 25;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 25; i++) {
+                    transport.emit(event("job-" + (base + i)));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Every emit has returned, so every event is already in the file before close
+        assertEquals(200, readLines(files(".part").get(0)).size());
+        transport.close();
+        assertEquals(200, jobNames().size());
+    }
+
+    @Test
+    public void testLeftoverPartFilesAreCompletedOnStart() throws Exception {
+        Files.write(directory.resolve("openlineage-20240101T000000.000Z-000000.ndjson.part"),
+            "{\"job\":{\"name\":\"left-behind\"}}\n".getBytes(StandardCharsets.UTF_8));
+
+        RollingFileTransport transport = new RollingFileTransport(config(RollingFileConfig.Fsync.NEVER));
+        transport.emit(event("job-0"));
+        transport.close();
+
+        assertTrue(files(".part").isEmpty());
+        assertEquals("left-behind,job-0", String.join(",", jobNamesPerFile()));
+    }
+
+    @Test
+    public void testOldestFilesAreDeletedBeyondMaxFiles() throws Exception {
+        RollingFileConfig config = config(RollingFileConfig.Fsync.NEVER);
+        config.setMaxFileSize(1L);
+        config.setMaxFiles(2);
+        RollingFileTransport transport = new RollingFileTransport(config);
+        for (int i = 0; i < 5; i++) {
+            transport.emit(event("job-" + i));
+            Thread.sleep(50);
+        }
+        transport.close();
+
+        List<String> names = jobNames();
+        assertEquals(2, files(".ndjson").size());
+        assertEquals("job-4", names.get(names.size() - 1), "the newest events are kept");
+        assertFalse(names.contains("job-0"), "the oldest events are deleted");
+    }
+
+    private RollingFileConfig config(RollingFileConfig.Fsync fsync) {
+        RollingFileConfig config = new RollingFileConfig();
+        config.setDirectory(directory.toString());
+        config.setFsync(fsync);
+        return config;
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(suffix))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    private List<String> jobNamesPerFile() throws IOException {
+        List<String> result = new ArrayList<>();
+        for (Path file : files(".ndjson")) {
+            List<String> names = new ArrayList<>();
+            for (JsonNode line : readLines(file)) {
+                names.add(line.path("job").path("name").asText());
+            }
+            result.add(String.join(",", names));
+        }
+        return result;
+    }
+
+    private List<String> jobNames() throws IOException {
+        List<String> names = new ArrayList<>();
+        for (Path file : files(".ndjson")) {
+            for (JsonNode line : readLines(file)) {
+                names.add(line.path("job").path("name").asText());
+            }
+        }
+        return names;
+    }
+
+    private static List<JsonNode> readLines(Path file) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lines.add(READER.readTree(line));
+        }
+        return lines;
+    }
+
+    private static OpenLineage.RunEvent event(String jobName) {
+        return OL.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.RUNNING)
+            .run(OL.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(OL.newJobBuilder().namespace("test-namespace").name(jobName).build())
+            .inputs(Collections.emptyList())
+            .outputs(Collections.emptyList())
+            .build();
+    }
+}
@@ -0,0 +1,61 @@
+package io.openlineage.client.transports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for per-event stage tracing.
+ */
+public class StageTraceTest {
+
+    private static final byte[] BODY = "{\"eventType\":\"START\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testStagesAreRecordedOnlyWhileTracing() throws IOException {
+        try (StubLineageServer server = new StubLineageServer();
+             HttpConnectionPool pool = new HttpConnectionPool(server.getUri(), null, null, 1,
+                 Duration.ofSeconds(30), Duration.ofMinutes(5))) {
+            // Not tracing: must be a no-op
+            StageTrace.record(StageTrace.Stage.WRITE, System.nanoTime());
+            pool.post(BODY, 0, BODY.length, 5000);
+
+            StageTrace trace = StageTrace.begin("RunEvent");
+            HttpResponse response = pool.post(BODY, 0, BODY.length, 5000);
+            StageTrace.recordResponse(BODY.length, response.getStatusCode());
+            trace.end(false);
+
+            assertEquals(0, trace.getMicros(StageTrace.Stage.CONNECT), "the pooled connection was reused");
+            assertTrue(trace.getMicros(StageTrace.Stage.RESPONSE) > 0);
+            assertEquals(1, trace.getAttempts());
+            assertEquals(200, trace.getStatusCode());
+            assertEquals(BODY.length, trace.getBytes());
+        }
+    }
+
+    @Test
+    public void testNewConnectionRecordsConnectStage() throws IOException {
+        try (StubLineageServer server = new StubLineageServer();
+             HttpConnectionPool pool = new HttpConnectionPool(server.getUri(), null, null, 1,
+                 Duration.ofSeconds(30), Duration.ofMinutes(5))) {
+            StageTrace trace = StageTrace.begin("RunEvent");
+            pool.post(BODY, 0, BODY.length, 5000);
+            trace.end(false);
+            assertTrue(trace.getMicros(StageTrace.Stage.CONNECT) > 0);
+            assertEquals(0, trace.getMicros(StageTrace.Stage.TLS), "plain http has no handshake");
+        }
+    }
+
+    @Test
+    public void testTraceRendersAsKeyValueLine() {
+        StageTrace trace = StageTrace.begin("JobEvent");
+        trace.end(true);
+        String line = trace.toString();
+        assertTrue(line.startsWith("event=JobEvent serializeMicros=0 dnsMicros=0 connectMicros=0"), line);
+        assertTrue(line.endsWith("failed=true"), line);
+    }
+}
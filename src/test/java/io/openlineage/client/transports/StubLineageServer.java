@@ -0,0 +1,153 @@
+package io.openlineage.client.transports;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Minimal in-process HTTP server that records the lineage requests it receives.
+ */
+public class StubLineageServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> paths = new CopyOnWriteArrayList<>();
+    private final List<String> contentEncodings = new CopyOnWriteArrayList<>();
+    private final List<Headers> requestHeaders = new CopyOnWriteArrayList<>();
+    private final Set<Integer> remotePorts = new CopyOnWriteArraySet<>();
+    private final Map<String, Integer> pathResponseCodes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> bodyResponseCodes = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile int responseCode = 200;
+    private volatile long delayMillis;
+
+    public StubLineageServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    public URI getUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/lineage");
+    }
+
+    public List<String> getBodies() {
+        return bodies;
+    }
+
+    /**
+     * Client ports seen so far, one per TCP connection the transport opened.
+     */
+    public Set<Integer> getRemotePorts() {
+        return remotePorts;
+    }
+
+    /**
+     * Request paths in arrival order, parallel to {@link #getBodies()}.
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Content-Encoding header of each request, or "identity" when absent. Gzip bodies are
+     * decompressed before being recorded.
+     */
+    public List<String> getContentEncodings() {
+        return contentEncodings;
+    }
+
+    /**
+     * Value of the named request header for each request, or null when absent, parallel to {@link #getBodies()}.
+     */
+    public List<String> getHeaderValues(String name) {
+        return requestHeaders.stream().map(headers -> headers.getFirst(name)).collect(Collectors.toList());
+    }
+
+    public void setResponseCode(int responseCode) {
+        this.responseCode = responseCode;
+    }
+
+    /**
+     * Overrides the response code for requests to one path.
+     */
+    public void setResponseCode(String path, int responseCode) {
+        pathResponseCodes.put(path, responseCode);
+    }
+
+    /**
+     * Overrides the response code for requests whose body contains the given text. Takes precedence over
+     * path overrides; when several texts match, the one set first wins.
+     */
+    public void setResponseCodeForBodiesContaining(String text, int responseCode) {
+        bodyResponseCodes.put(text, responseCode);
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        InputStream requestBody = "gzip".equals(contentEncoding)
+            ? new GZIPInputStream(exchange.getRequestBody())
+            : exchange.getRequestBody();
+        try (InputStream in = requestBody) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                body.write(chunk, 0, read);
+            }
+        }
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String path = exchange.getRequestURI().getPath();
+        remotePorts.add(exchange.getRemoteAddress().getPort());
+        paths.add(path);
+        contentEncodings.add(contentEncoding != null ? contentEncoding : "identity");
+        requestHeaders.add(exchange.getRequestHeaders());
+        String text = body.toString("UTF-8");
+        bodies.add(text);
+        exchange.sendResponseHeaders(responseCodeFor(path, text), -1);
+        exchange.close();
+    }
+
+    private int responseCodeFor(String path, String body) {
+        synchronized (bodyResponseCodes) {
+            for (Map.Entry<String, Integer> entry : bodyResponseCodes.entrySet()) {
+                if (body.contains(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return pathResponseCodes.getOrDefault(path, responseCode);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
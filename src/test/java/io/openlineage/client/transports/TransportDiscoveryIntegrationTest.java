@@ -38,6 +38,10 @@ public class TransportDiscoveryIntegrationTest {
         TransportBuilder insecureBuilder = findTransportByType("http-insecure");
         assertNotNull(insecureBuilder, "Should be able to find http-insecure transport by type");
         assertEquals("http-insecure", insecureBuilder.getType());
+
+        TransportBuilder rollingFileBuilder = findTransportByType("rolling-file");
+        assertNotNull(rollingFileBuilder, "Should be able to find rolling-file transport by type");
+        assertTrue(rollingFileBuilder.getConfig() instanceof RollingFileConfig);
     }
 
     @Test
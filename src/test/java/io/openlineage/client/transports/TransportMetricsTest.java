@@ -0,0 +1,139 @@
+package io.openlineage.client.transports;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.openlineage.client.OpenLineage;
+import io.openlineage.client.OpenLineageClientException;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the latency histogram and the transport's metrics surface.
+ */
+public class TransportMetricsTest {
+
+    @Test
+    public void testHistogramPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i * 100L));
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(100_000, histogram.getMaxMicros());
+        assertEquals(50_000, histogram.getPercentileMicros(0.5), 50_000 * 0.07);
+        assertEquals(99_000, histogram.getPercentileMicros(0.99), 99_000 * 0.07);
+        assertEquals(0, new LatencyHistogram().getPercentileMicros(0.99));
+    }
+
+    @Test
+    public void testHistogramOnlyCoversTheLastWindow() {
+        AtomicLong clock = new AtomicLong();
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofSeconds(60), clock::get);
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        histogram.record(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1001, histogram.getCount());
+        assertEquals(2_000_000, histogram.getMaxMicros());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(40));
+        assertEquals(1, histogram.getCount(), "the early values fell out of the window");
+        assertEquals(2_000_000, histogram.getPercentileMicros(0.5), 2_000_000 * 0.07);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMicros());
+        assertEquals(0, histogram.getPercentileMicros(0.99));
+    }
+
+    @Test
+    public void testBucketBoundsCoverEveryValue() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1000, 123_456, Long.MAX_VALUE / 2}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBoundOf(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    public void testTransportCountsRequestsAndFailuresAndRegistersMBean() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setMetrics(true);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            InsecureHttpTransportMXBean metrics = transport.getMetrics();
+
+            transport.emit(runEvent());
+            transport.emit(runEvent());
+            server.setResponseCode(500);
+            assertThrows(OpenLineageClientException.class, () -> transport.emit(runEvent()));
+
+            assertEquals(3, metrics.getEventsEmitted());
+            assertEquals(1, metrics.getEventsFailed());
+            assertEquals(2, metrics.getRequestsSucceeded());
+            assertEquals(1, metrics.getRequestsFailed());
+            assertTrue(metrics.getBytesSent() > 0);
+            assertEquals(0, metrics.getInFlightRequests());
+            assertTrue(metrics.getRequestLatencyMaxMicros() > 0);
+
+            ObjectName pattern = new ObjectName("io.openlineage:type=InsecureHttpTransport,*");
+            int registered = ManagementFactory.getPlatformMBeanServer().queryNames(pattern, null).size();
+            assertTrue(registered >= 1);
+            transport.close();
+            assertEquals(registered - 1, ManagementFactory.getPlatformMBeanServer().queryNames(pattern, null).size());
+        }
+    }
+
+    @Test
+    public void testMetricsAreOffByDefault() {
+        InsecureHttpConfig config = new InsecureHttpConfig();
+        config.setUrl(URI.create("http://127.0.0.1:1/api/v1/lineage"));
+        InsecureHttpTransport transport = new InsecureHttpTransport(config);
+        assertNull(transport.getMetrics());
+        transport.close();
+    }
+
+    @Test
+    public void testMeterBinderPublishesAndRemovesMeters() throws Exception {
+        try (StubLineageServer server = new StubLineageServer()) {
+            InsecureHttpConfig config = new InsecureHttpConfig();
+            config.setUrl(server.getUri());
+            config.setMetrics(true);
+            config.setMetricsJmx(false);
+            InsecureHttpTransport transport = new InsecureHttpTransport(config);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            InsecureHttpTransportMeterBinder binder =
+                new InsecureHttpTransportMeterBinder(transport.getMetrics(), Tags.of("job", "test"));
+            binder.bindTo(registry);
+
+            transport.emit(runEvent());
+            assertEquals(1.0, registry.get("openlineage.transport.http.insecure.requests.succeeded")
+                .tag("job", "test").functionCounter().count());
+            binder.close();
+            assertTrue(registry.getMeters().isEmpty());
+            transport.close();
+        }
+    }
+
+    private static OpenLineage.RunEvent runEvent() {
+        OpenLineage ol = new OpenLineage(URI.create("https://test-producer.com"));
+        return ol.newRunEventBuilder()
+            .eventTime(ZonedDateTime.now())
+            .eventType(OpenLineage.RunEvent.EventType.START)
+            .run(ol.newRunBuilder().runId(UUID.randomUUID()).build())
+            .job(ol.newJobBuilder().namespace("test-namespace").name("metrics-test").build())
+            .build();
+    }
+}
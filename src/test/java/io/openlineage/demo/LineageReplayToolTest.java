@@ -0,0 +1,189 @@
+package io.openlineage.demo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openlineage.client.transports.InsecureHttpConfig;
+import io.openlineage.client.transports.StubLineageServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for replaying archived event files, including resuming from a checkpoint.
+ */
+public class LineageReplayToolTest {
+
+    private static final ObjectMapper READER = new ObjectMapper();
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("replay-test");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testNdjsonAndCompressedArrayFilesAreReplayedInOrder() throws Exception {
+        Path events = Files.createDirectory(directory.resolve("events"));
+        Files.write(events.resolve("a.ndjson"), ndjson("job-0", "job-1"));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(events.resolve("b.json.gz")))) {
+            out.write(jsonArray("job-2", "job-3"));
+        }
+        Files.write(events.resolve("notes.txt"), "not an event file".getBytes(StandardCharsets.UTF_8));
+
+        try (StubLineageServer server = new StubLineageServer()) {
+            LineageReplayTool tool = new LineageReplayTool(config(server), null, 10);
+            assertEquals(4, tool.replay(Collections.singletonList(events)));
+            tool.close();
+
+            assertEquals(Arrays.asList("job-0", "job-1", "job-2", "job-3"), jobNames(server));
+        }
+    }
+
+    @Test
+    public void testReplayResumesAfterTheCheckpoint() throws Exception {
+        Path lines = directory.resolve("a.ndjson");
+        Files.write(lines, ndjson("job-0", "job-1", "job-2"));
+        Path array = directory.resolve("b.json");
+        Files.write(array, jsonArray("job-3", "job-4", "job-5"));
+        Path checkpoint = directory.resolve("replay.checkpoint");
+
+        try (StubLineageServer server = new StubLineageServer()) {
+            LineageReplayTool tool = new LineageReplayTool(config(server), checkpoint, 1);
+            assertEquals(6, tool.replay(Arrays.asList(lines, array)));
+            tool.close();
+        }
+
+        // Rewind the checkpoint into the middle of each file, as if the run had been interrupted there
+        for (Path file : Arrays.asList(lines, array)) {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            writeCheckpoint(checkpoint, file, content.indexOf('}', content.indexOf("schemaURL")) + 1);
+            try (StubLineageServer server = new StubLineageServer()) {
+                LineageReplayTool tool = new LineageReplayTool(config(server), checkpoint, 1);
+                tool.replay(Arrays.asList(lines, array));
+                tool.close();
+
+                List<String> expected = file == lines
+                    ? Arrays.asList("job-1", "job-2", "job-3", "job-4", "job-5")
+                    : Arrays.asList("job-4", "job-5");
+                assertEquals(expected, jobNames(server));
+            }
+        }
+
+        try (StubLineageServer server = new StubLineageServer()) {
+            LineageReplayTool tool = new LineageReplayTool(config(server), checkpoint, 1);
+            assertEquals(0, tool.replay(Arrays.asList(lines, array)), "a finished replay sends nothing again");
+            tool.close();
+        }
+    }
+
+    @Test
+    public void testFailedDeliveryStopsWithoutAdvancingTheCheckpoint() throws Exception {
+        Path lines = directory.resolve("a.ndjson");
+        Files.write(lines, ndjson("job-0", "job-1"));
+        Path checkpoint = directory.resolve("replay.checkpoint");
+
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setResponseCode(500);
+            LineageReplayTool tool = new LineageReplayTool(config(server), checkpoint, 1);
+            assertThrows(IOException.class, () -> tool.replay(Collections.singletonList(lines)));
+            tool.close();
+        }
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    public void testUnresponsiveCollectorStopsTheReplayInsteadOfWaitingForever() throws Exception {
+        Path lines = directory.resolve("a.ndjson");
+        Files.write(lines, ndjson("job-0", "job-1"));
+        Path checkpoint = directory.resolve("replay.checkpoint");
+
+        try (StubLineageServer server = new StubLineageServer()) {
+            server.setDelayMillis(1000);
+            LineageReplayTool tool = new LineageReplayTool(config(server), checkpoint, 1, Duration.ofMillis(100));
+            IOException e = assertThrows(IOException.class, () -> tool.replay(Collections.singletonList(lines)));
+            assertTrue(e.getMessage().contains("not sent within"));
+            tool.close();
+        }
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    public void testHeadersWithoutAValueAreRejected() {
+        assertEquals(Collections.singletonMap("Authorization", "Bearer a=b"),
+            LineageReplayTool.parseHeaders(Collections.singletonList("Authorization=Bearer a=b")));
+        assertThrows(IllegalArgumentException.class,
+            () -> LineageReplayTool.parseHeaders(Collections.singletonList("Authorization")));
+        assertThrows(IllegalArgumentException.class,
+            () -> LineageReplayTool.parseHeaders(Collections.singletonList("=value")));
+    }
+
+    private static InsecureHttpConfig config(StubLineageServer server) {
+        InsecureHttpConfig config = new InsecureHttpConfig();
+        config.setUrl(server.getUri());
+        config.setSenderThreads(1);
+        return config;
+    }
+
+    private static void writeCheckpoint(Path checkpoint, Path file, long offset) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("file", file.toString());
+        properties.setProperty("offset", Long.toString(offset));
+        try (OutputStream out = Files.newOutputStream(checkpoint)) {
+            properties.store(out, null);
+        }
+    }
+
+    private static List<String> jobNames(StubLineageServer server) throws IOException {
+        List<String> names = new ArrayList<>();
+        for (String body : server.getBodies()) {
+            names.add(READER.readTree(body).path("job").path("name").asText());
+        }
+        return names;
+    }
+
+    private static byte[] ndjson(String... jobNames) {
+        return Arrays.stream(jobNames).map(LineageReplayToolTest::event).collect(Collectors.joining("\n", "", "\n"))
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] jsonArray(String... jobNames) {
+        return Arrays.stream(jobNames).map(LineageReplayToolTest::event).collect(Collectors.joining(",\n  ", "[\n  ", "\n]"))
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String event(String jobName) {
+        return "{\"eventType\":\"COMPLETE\",\"eventTime\":\"2024-01-01T00:00:00Z\","
+            + "\"run\":{\"runId\":\"" + UUID.randomUUID() + "\"},"
+            + "\"job\":{\"namespace\":\"test-namespace\",\"name\":\"" + jobName + "\"},"
+            + "\"producer\":\"https://test-producer.com\","
+            + "\"schemaURL\":\"https://openlineage.io/spec/2-0-2/OpenLineage.json#/$defs/RunEvent\"}";
+    }
+}